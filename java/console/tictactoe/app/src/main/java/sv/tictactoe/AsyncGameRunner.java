@@ -0,0 +1,74 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Drives games between AsyncPlayers on a small, fixed pool of threads. No
+// thread waits on a player: when a player's future completes, its move is
+// submitted to the game's state from the pool and the next player is
+// asked, so the games in flight are bounded by memory rather than threads.
+//
+// A player that answers with an occupied or off-board cell forfeits the
+// game, which is abandoned with an IllegalMoveException.
+public class AsyncGameRunner implements AutoCloseable {
+  private final @NotNull ExecutorService pool;
+
+  public AsyncGameRunner(int threads) {
+    if (threads < 1) throw new IllegalArgumentException("A runner needs at least one thread.");
+    this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+      var thread = new Thread(runnable, "async-game-runner");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // Plays the game on from its current state. The future completes with
+  // the state once the game is over, or exceptionally if a player fails
+  // other than by ending the game.
+  public @NotNull CompletableFuture<GameState> play(@NotNull GameState state, @NotNull AsyncPlayer noughts, @NotNull AsyncPlayer crosses) {
+    var result = new CompletableFuture<GameState>();
+    if (state.isOver()) result.complete(state);
+    else pool.execute(() -> step(state, noughts, crosses, result));
+    return result;
+  }
+
+  private void step(
+      @NotNull GameState state, @NotNull AsyncPlayer noughts, @NotNull AsyncPlayer crosses,
+      @NotNull CompletableFuture<GameState> result) {
+    try {
+      var symbol = state.toMove();
+      var player = (symbol == Board.Symbol.NOUGHT)? noughts : crosses;
+      player.chooseCell(state.board(), symbol).whenCompleteAsync((cell, failure) -> {
+        try {
+          if (failure != null) {
+            var cause = (failure instanceof CompletionException && failure.getCause() != null)? failure.getCause() : failure;
+            if (!(cause instanceof GameIO.AbnormalTerminationException)) {
+              result.completeExceptionally(cause);
+              return;
+            }
+            state.abandon((GameIO.AbnormalTerminationException) cause);
+          } else {
+            try {
+              state.submit(cell);
+            } catch (Board.InvalidPositionException ex) {
+              state.abandon(new GameIO.IllegalMoveException());
+            }
+          }
+          if (state.isOver()) result.complete(state);
+          else step(state, noughts, crosses, result);
+        } catch (RuntimeException ex) {
+          result.completeExceptionally(ex);
+        }
+      }, pool);
+    } catch (RuntimeException ex) {
+      result.completeExceptionally(ex);
+    }
+  }
+
+  @Override
+  public void close() { pool.shutdownNow(); }
+}
@@ -0,0 +1,34 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// A player that answers with a future cell rather than blocking for one.
+// The board must not be changed; it is the live board of the game, which
+// stays as it is until the future completes. The future may complete
+// exceptionally with an AbnormalTerminationException to end the game.
+public interface AsyncPlayer {
+  @NotNull CompletableFuture<Integer> chooseCell(@NotNull Board board, @NotNull Board.Symbol symbol);
+
+  // Runs a blocking player on the executor, letting it move on a copy of
+  // the board.
+  static @NotNull AsyncPlayer of(@NotNull Player player, @NotNull Executor executor) {
+    return (board, symbol) -> {
+      var copy = new Board(board.rows(), board.columns(), board.winLength());
+      copy.copyFrom(board);
+      var before = copy.moveCount();
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          player.makeMove(copy, symbol);
+        } catch (GameIO.AbnormalTerminationException ex) {
+          throw new CompletionException(ex);
+        }
+        if (copy.moveCount() == before) throw new IllegalStateException("The player did not move.");
+        return copy.move(before);
+      }, executor);
+    };
+  }
+}
@@ -0,0 +1,76 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// GameAnalytics for whole arrays of 3x3 boards at once, packed as
+// Board.pack packs them. Each board's result is a set of flags: who has
+// won, whether it is a draw, and whether the game is over.
+//
+// Where the jdk.incubator.vector module is present, as when the JVM runs
+// with --add-modules jdk.incubator.vector, the boards are checked a
+// vector of lanes at a time against every winning line. Otherwise a scalar
+// loop looks each mask up in a table of those that hold a line.
+public class BatchAnalytics {
+  public static final int NOUGHTS_WON = 1, CROSSES_WON = 2, DRAW = 4, GAME_OVER = 8;
+
+  interface Evaluator {
+    void evaluate(int @NotNull [] boards, int @NotNull [] results, int count);
+  }
+
+  // VectorAnalytics is compiled apart, against the incubator module, and
+  // only loaded when the module is there to link it against.
+  private static final Evaluator VECTOR = vectorEvaluator();
+  public static final boolean VECTORIZED = VECTOR != null;
+
+  // HAS_LINE[mask] is true if mask holds a winning line.
+  private static final boolean @NotNull [] HAS_LINE = new boolean[Board.FULL + 1];
+  static {
+    for (var mask = 0; mask <= Board.FULL; ++mask) HAS_LINE[mask] = Board.hasLine(mask);
+  }
+
+  private static Evaluator vectorEvaluator() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+    try {
+      return (Evaluator) Class.forName("sv.tictactoe.VectorAnalytics").getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError ex) {
+      return null;
+    }
+  }
+
+  public static Board.Symbol winner(int result) {
+    if ((result & NOUGHTS_WON) != 0) return Board.Symbol.NOUGHT;
+    if ((result & CROSSES_WON) != 0) return Board.Symbol.CROSS;
+    return null;
+  }
+
+  public static boolean isDraw(int result) { return (result & DRAW) != 0; }
+
+  public static boolean isGameOver(int result) { return (result & GAME_OVER) != 0; }
+
+  static int evaluate(int board) {
+    int noughts = board & Board.FULL, crosses = (board >>> 9) & Board.FULL;
+    var result = 0;
+    if (HAS_LINE[noughts]) result |= NOUGHTS_WON | GAME_OVER;
+    if (HAS_LINE[crosses]) result |= CROSSES_WON | GAME_OVER;
+    if (result == 0 && (noughts | crosses) == Board.FULL) result = DRAW | GAME_OVER;
+    return result;
+  }
+
+  static void evaluateScalar(int @NotNull [] boards, int @NotNull [] results, int from, int to) {
+    for (var index = from; index < to; ++index) results[index] = evaluate(boards[index]);
+  }
+
+  // Writes the result for each of the first count boards to results, which
+  // may be boards itself.
+  public static void evaluate(int @NotNull [] boards, int @NotNull [] results, int count) {
+    if (count > boards.length || count > results.length) throw new IndexOutOfBoundsException("There are fewer than " + count + " boards or results.");
+    if (VECTOR != null) VECTOR.evaluate(boards, results, count);
+    else evaluateScalar(boards, results, 0, count);
+  }
+
+  public static int @NotNull [] evaluate(int @NotNull [] boards) {
+    var results = new int[boards.length];
+    evaluate(boards, results, boards.length);
+    return results;
+  }
+}
@@ -0,0 +1,179 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Finds the blunders in a GameLog: moves after which the mover's outcome
+// under perfect play is worse than it was before, such as turning a won
+// position into a draw or a drawn one into a loss. Positions are judged
+// exactly with the MoveTable.
+//
+// The calling thread streams the log in batches into a bounded queue, and
+// worker threads replay and judge the games in each batch. Emptied batches
+// go back to the reader through a second queue, so the pipeline holds a
+// fixed number of batches however large the log is.
+public class BlunderAnalysis {
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  // Told of each game as it is analysed, from the worker threads.
+  public interface GameListener {
+    void analysed(long record, int blunders, int firstBlunder);
+  }
+
+  public record Result(
+      long games, long moves, long gamesWithBlunders, long noughtsBlunders, long crossesBlunders,
+      long @NotNull [] blundersByMove) {
+    public long blunders() { return noughtsBlunders + crossesBlunders; }
+  }
+
+  private final int workers, batchSize;
+  private final @NotNull MoveTable table;
+
+  private static class Batch {
+    final long @NotNull [] records;
+    int size;
+
+    Batch(int capacity) { records = new long[capacity]; }
+  }
+
+  private static class Tally {
+    long games, moves, gamesWithBlunders, noughtsBlunders, crossesBlunders;
+    final long @NotNull [] blundersByMove = new long[GameRecord.MAX_MOVES];
+
+    void add(@NotNull Tally other) {
+      games += other.games;
+      moves += other.moves;
+      gamesWithBlunders += other.gamesWithBlunders;
+      noughtsBlunders += other.noughtsBlunders;
+      crossesBlunders += other.crossesBlunders;
+      for (var move = 0; move < blundersByMove.length; ++move) blundersByMove[move] += other.blundersByMove[move];
+    }
+  }
+
+  // The mover's outcome after placing a mark, from the position left to
+  // the opponent.
+  private int outcomeAfter(@NotNull Board board, @NotNull Board.Symbol mover) {
+    if (board.winner() == mover) return MoveTable.WIN;
+    if (board.isFull()) return MoveTable.DRAW;
+    return -table.outcome(board, mover.other());
+  }
+
+  private void analyse(long record, @NotNull Board board, @NotNull Tally tally, GameListener listener) throws Board.InvalidPositionException {
+    board.reset();
+    var blunders = 0;
+    var firstBlunder = -1;
+    var mover = Board.Symbol.NOUGHT;
+    var moves = GameRecord.moves(record);
+    // Moves recorded after a win could not have been played, so the
+    // analysis stops at the win.
+    var ply = 0;
+    for (; ply < moves && board.winner() == null; ++ply) {
+      var before = table.outcome(board, mover);
+      board.placeMark(GameRecord.move(record, ply), mover);
+      if (outcomeAfter(board, mover) < before) {
+        if (blunders++ == 0) firstBlunder = ply;
+        if (mover == Board.Symbol.NOUGHT) ++tally.noughtsBlunders;
+        else ++tally.crossesBlunders;
+        ++tally.blundersByMove[ply];
+      }
+      mover = mover.other();
+    }
+    ++tally.games;
+    tally.moves += ply;
+    if (blunders > 0) ++tally.gamesWithBlunders;
+    if (listener != null) listener.analysed(record, blunders, firstBlunder);
+  }
+
+  public BlunderAnalysis(int workers) { this(workers, DEFAULT_BATCH_SIZE, MoveTable.instance()); }
+
+  public BlunderAnalysis(int workers, int batchSize, @NotNull MoveTable table) {
+    if (workers < 1) throw new IllegalArgumentException("The analysis needs at least one worker.");
+    if (batchSize < 1) throw new IllegalArgumentException("A batch holds at least one record.");
+    this.workers = workers;
+    this.batchSize = batchSize;
+    this.table = table;
+  }
+
+  public @NotNull Result run(@NotNull Path log) throws IOException { return run(log, null); }
+
+  public @NotNull Result run(@NotNull Path log, GameListener listener) throws IOException {
+    // Two batches per worker: one being analysed and one waiting.
+    var capacity = 2 * workers;
+    BlockingQueue<Batch> full = new ArrayBlockingQueue<>(capacity + workers);
+    BlockingQueue<Batch> empty = new ArrayBlockingQueue<>(capacity);
+    for (var batch = 0; batch < capacity; ++batch) empty.add(new Batch(batchSize));
+    var endOfLog = new Batch(0);
+
+    var pool = Executors.newFixedThreadPool(workers);
+    try {
+      var futures = new ArrayList<Future<Tally>>(workers);
+      for (var worker = 0; worker < workers; ++worker) {
+        futures.add(pool.submit(() -> {
+          var board = new Board();
+          var tally = new Tally();
+          for (var batch = full.take(); batch != endOfLog; batch = full.take()) {
+            for (var index = 0; index < batch.size; ++index) analyse(batch.records[index], board, tally, listener);
+            batch.size = 0;
+            empty.put(batch);
+          }
+          return tally;
+        }));
+      }
+      try {
+        read(log, full, empty, futures);
+        for (var worker = 0; worker < workers; ++worker) full.put(endOfLog);
+        var total = new Tally();
+        for (var future: futures) total.add(future.get());
+        return new Result(
+            total.games, total.moves, total.gamesWithBlunders, total.noughtsBlunders, total.crossesBlunders,
+            total.blundersByMove);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("The analysis was interrupted.", ex);
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException("A game could not be analysed.", ex.getCause());
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private void read(
+      @NotNull Path log, @NotNull BlockingQueue<Batch> full, @NotNull BlockingQueue<Batch> empty,
+      @NotNull ArrayList<Future<Tally>> futures)
+      throws IOException, InterruptedException, ExecutionException {
+    try (var reader = new GameLogReader(log)) {
+      var batch = nextEmpty(empty, futures);
+      while (reader.next()) {
+        batch.records[batch.size++] = reader.record();
+        if (batch.size == batch.records.length) {
+          full.put(batch);
+          batch = nextEmpty(empty, futures);
+        }
+      }
+      if (batch.size > 0) full.put(batch);
+    }
+  }
+
+  // Waits for an empty batch, giving up if a worker has failed, since the
+  // batch it held will never come back.
+  private static @NotNull Batch nextEmpty(@NotNull BlockingQueue<Batch> empty, @NotNull ArrayList<Future<Tally>> futures)
+      throws InterruptedException, ExecutionException {
+    while (true) {
+      var batch = empty.poll(100, TimeUnit.MILLISECONDS);
+      if (batch != null) return batch;
+      for (var future: futures) {
+        if (future.isDone()) future.get();
+      }
+    }
+  }
+}
@@ -3,9 +3,11 @@ package sv.tictactoe;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.SplittableRandom;
 
 public class Board {
   static class InvalidSymbolLabelException extends Exception {
@@ -29,11 +31,19 @@ public class Board {
 
     public final @NotNull String label;
     public final int row, column;
+    final int mask;
 
     Position(@NotNull String label, int row, int column) {
       this.label = label;
       this.row = row;
       this.column = column;
+      this.mask = 1 << (row * 3 + column);
+    }
+
+    static int mask(@NotNull Position @NotNull [] positions) {
+      var mask = 0;
+      for (var position: positions) mask |= position.mask;
+      return mask;
     }
 
     @Contract(value = " -> new", pure = true)
@@ -77,12 +87,25 @@ public class Board {
     }
 
 
-    public static @NotNull Position parse(@NotNull String input, @NotNull Position[] validPositions) throws InvalidPositionException {
-      Position[] positions = (validPositions != null)? validPositions : Position.values();
-      for (var position: positions) {
-        if (input.equalsIgnoreCase(position.label)) return position;
+    // Positions by lower-case label, and by the digits 1 to 9 numbering the
+    // cells in reading order, so a typed position is found in one lookup.
+    private static final @NotNull Map<String, Position> BY_NAME = new HashMap<>();
+    static {
+      for (var position: values()) {
+        BY_NAME.put(position.label, position);
+        BY_NAME.put(Integer.toString(position.ordinal() + 1), position);
       }
-      throw new InvalidPositionException("'" + input + "' " + " is not a valid position.");
+    }
+
+    public static @NotNull Position parse(@NotNull String input, @NotNull Position[] validPositions) throws InvalidPositionException {
+      return parse(input, (validPositions != null)? mask(validPositions) : FULL);
+    }
+
+    static @NotNull Position parse(@NotNull String input, int validMask) throws InvalidPositionException {
+      var position = BY_NAME.get(input.toLowerCase(Locale.ROOT));
+      if (position == null || (position.mask & validMask) == 0)
+        throw new InvalidPositionException("'" + input + "' " + " is not a valid position.");
+      return position;
     }
   }
   enum Symbol {
@@ -112,62 +135,365 @@ public class Board {
     }
   }
 
-  private final @NotNull Map<Position, Symbol> cells;
+  // On the standard 3x3 board each symbol's marks fit in a 9-bit mask, bit
+  // n standing for the cell at row n / 3 and column n % 3. The search and
+  // lookup engines for the standard game work on these masks directly.
+  static final int FULL = 0x1FF;
+  static final int @NotNull [] WINNING_LINES = {
+      Position.mask(Position.topRow()),
+      Position.mask(Position.middleRow()),
+      Position.mask(Position.bottomRow()),
+      Position.mask(Position.leftColumn()),
+      Position.mask(Position.middleColumn()),
+      Position.mask(Position.rightColumn()),
+      Position.mask(Position.primaryDiagonal()),
+      Position.mask(Position.secondaryDiagonal())
+  };
+  private static final @NotNull Position @NotNull [] POSITIONS = Position.values();
+  // TERNARY[mask] is the base-3 number with a 1 in each digit set in mask,
+  // so that key(first, second) numbers every arrangement of two symbols'
+  // marks from 0 to KEYS - 1.
+  static final int KEYS = 19683;
+  private static final int @NotNull [] TERNARY = new int[FULL + 1];
+  static {
+    for (var mask = 1; mask <= FULL; ++mask)
+      TERNARY[mask] = TERNARY[mask & (mask - 1)] + (int) Math.pow(3, Integer.numberOfTrailingZeros(mask));
+  }
+  // The masks of the standard winning lines passing through each cell.
+  private static final int @NotNull [] @NotNull [] LINES_THROUGH = new int[POSITIONS.length][];
+  static {
+    for (var cell = 0; cell < POSITIONS.length; ++cell) {
+      var count = 0;
+      var lines = new int[WINNING_LINES.length];
+      for (var line: WINNING_LINES)
+        if ((line & (1 << cell)) != 0) lines[count++] = line;
+      LINES_THROUGH[cell] = Arrays.copyOf(lines, count);
+    }
+  }
+
+  private static final @NotNull String LINE_SEPARATOR = System.lineSeparator();
 
-  public Board() { this.cells = new HashMap<>(); }
+  public static final int MAX_SIDE = 26;
+  // The row and column steps of the four line directions: along a row, down
+  // a column, down the primary diagonal and down the secondary diagonal.
+  private static final int @NotNull [] @NotNull [] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+  // Zobrist keys: a board's hash is the exclusive-or of a key for its size
+  // and a key for each mark on it, so placing or removing a mark updates
+  // it with one exclusive-or. The keys come from a fixed seed, so that
+  // hashes are the same from run to run.
+  private static final long @NotNull [] NOUGHT_KEYS = new long[MAX_SIDE * MAX_SIDE];
+  private static final long @NotNull [] CROSS_KEYS = new long[MAX_SIDE * MAX_SIDE];
+  private static final long @NotNull [] SIZE_KEYS = new long[(MAX_SIDE + 1) * (MAX_SIDE + 1) * (MAX_SIDE + 1)];
+  static {
+    var random = new SplittableRandom(0x5EED_7AC7_0E5L);
+    for (var cell = 0; cell < NOUGHT_KEYS.length; ++cell) {
+      NOUGHT_KEYS[cell] = random.nextLong();
+      CROSS_KEYS[cell] = random.nextLong();
+    }
+    for (var size = 0; size < SIZE_KEYS.length; ++size) SIZE_KEYS[size] = random.nextLong();
+  }
 
-  public Board(@NotNull Map<Position, Symbol> cells) { this.cells = cells; }
+  private final int rows, columns, winLength;
+  private final boolean standard;
+  // Cell n is bit n % 64 of word n / 64.
+  private final long @NotNull [] noughts, crosses;
+  // The cells marked so far, in the order they were marked.
+  private final int @NotNull [] moves;
+  private int moveCount;
+  private Symbol winner;
+  // The number of moves made when the winner completed a line.
+  private int winningMoveCount;
+  private final long sizeKey;
+  private long hash;
 
-  @Override
-  public @NotNull String toString() {
+  private static boolean isSet(long @NotNull [] bits, int cell) { return (bits[cell >>> 6] & (1L << cell)) != 0; }
+
+  private long @NotNull [] bits(@NotNull Symbol symbol) { return (symbol == Symbol.NOUGHT)? noughts : crosses; }
+
+  // The number of consecutive marks in bits, starting at the cell one step
+  // from (row, column) and stepping by (rowStep, columnStep), up to limit.
+  private int run(long @NotNull [] bits, int row, int column, int rowStep, int columnStep, int limit) {
     var count = 0;
-    final var buffer = new StringBuilder();
-    final var allPositions = Position.values();
-    final var lineSeparator = System.getProperty("line.separator");
-    for (var position: allPositions) {
+    for (row += rowStep, column += columnStep; count < limit; row += rowStep, column += columnStep) {
+      if (row < 0 || row >= rows || column < 0 || column >= columns || !isSet(bits, row * columns + column)) break;
+      ++count;
+    }
+    return count;
+  }
+
+  // Whether the marks in bits complete a line through cell. Only the lines
+  // through the cell are examined, so the cost depends on the win length,
+  // not on the size of the board.
+  private boolean hasLineThrough(long @NotNull [] bits, int cell) {
+    if (standard) {
+      var marks = (int) bits[0];
+      for (var line: LINES_THROUGH[cell]) {
+        if ((marks & line) == line) return true;
+      }
+      return false;
+    }
+    int row = cell / columns, column = cell % columns;
+    for (var direction: DIRECTIONS) {
+      var count = 1 + run(bits, row, column, direction[0], direction[1], winLength - 1);
+      if (count < winLength) count += run(bits, row, column, -direction[0], -direction[1], winLength - count);
+      if (count >= winLength) return true;
+    }
+    return false;
+  }
+
+  private void mark(int cell, @NotNull Symbol symbol) {
+    var bits = bits(symbol);
+    bits[cell >>> 6] |= 1L << cell;
+    moves[moveCount++] = cell;
+    hash ^= (symbol == Symbol.NOUGHT)? NOUGHT_KEYS[cell] : CROSS_KEYS[cell];
+    if (winner == null && hasLineThrough(bits, cell)) {
+      winner = symbol;
+      winningMoveCount = moveCount;
+    }
+  }
+
+  public Board() { this(3, 3, 3); }
+
+  public Board(int rows, int columns, int winLength) {
+    if (rows < 1 || rows > MAX_SIDE || columns < 1 || columns > MAX_SIDE)
+      throw new IllegalArgumentException("A board has from 1 to " + MAX_SIDE + " rows and columns.");
+    if (winLength < 1 || winLength > Math.max(rows, columns))
+      throw new IllegalArgumentException("A winning line of " + winLength + " does not fit on a " + rows + "x" + columns + " board.");
+    this.rows = rows;
+    this.columns = columns;
+    this.winLength = winLength;
+    this.standard = rows == 3 && columns == 3 && winLength == 3;
+    this.noughts = new long[(rows * columns + 63) >>> 6];
+    this.crosses = new long[noughts.length];
+    this.moves = new int[rows * columns];
+    this.sizeKey = SIZE_KEYS[(rows * (MAX_SIDE + 1) + columns) * (MAX_SIDE + 1) + winLength];
+    this.hash = sizeKey;
+  }
+
+  public Board(@NotNull Map<Position, Symbol> cells) {
+    this();
+    for (var position: POSITIONS) {
       var symbol = cells.get(position);
-      if (symbol == null) buffer.append("_");
-      else buffer.append(symbol.label);
-      if (count < allPositions.length-1) {
-        if (count % 3 == 2) buffer.append(lineSeparator);
+      if (symbol != null) mark(position.ordinal(), symbol);
+    }
+  }
+
+  @Override
+  public @NotNull String toString() {
+    final var cellCount = cellCount();
+    final var buffer = new StringBuilder(cellCount * (1 + LINE_SEPARATOR.length()));
+    for (var cell = 0; cell < cellCount; ++cell) {
+      if (isSet(noughts, cell)) buffer.append(Symbol.NOUGHT.label);
+      else if (isSet(crosses, cell)) buffer.append(Symbol.CROSS.label);
+      else buffer.append("_");
+      if (cell < cellCount-1) {
+        if (cell % columns == columns-1) buffer.append(LINE_SEPARATOR);
         else buffer.append(" ");
       }
-      ++count;
     }
     return buffer.toString();
   }
 
-  public boolean isEmpty(@NotNull Position position) { return cells.get(position) == null; }
+  public void reset() {
+    Arrays.fill(noughts, 0L);
+    Arrays.fill(crosses, 0L);
+    moveCount = 0;
+    winner = null;
+    hash = sizeKey;
+  }
+
+  public void copyFrom(@NotNull Board other) {
+    if (other.rows != rows || other.columns != columns || other.winLength != winLength)
+      throw new IllegalArgumentException("Cannot copy a board of a different size.");
+    System.arraycopy(other.noughts, 0, noughts, 0, noughts.length);
+    System.arraycopy(other.crosses, 0, crosses, 0, crosses.length);
+    System.arraycopy(other.moves, 0, moves, 0, other.moveCount);
+    moveCount = other.moveCount;
+    winner = other.winner;
+    winningMoveCount = other.winningMoveCount;
+    hash = other.hash;
+  }
+
+  // The Zobrist hash of the board's size and marks.
+  public long hash() { return hash; }
+
+  public int rows() { return rows; }
+
+  public int columns() { return columns; }
+
+  public int winLength() { return winLength; }
+
+  public int cellCount() { return rows * columns; }
 
-  public Symbol getMark(@NotNull Position position) { return cells.get(position); }
+  // Whether this is the 3x3 board with lines of three.
+  public boolean isStandard() { return standard; }
+
+  public int cell(int row, int column) { return row * columns + column; }
+
+  public int cell(@NotNull Position position) { return cell(position.row, position.column); }
+
+  // Names a cell: its position label on the standard board, otherwise its
+  // column letter and row number, as in "a1" for the top-left cell.
+  public @NotNull String label(int cell) {
+    if (standard) return POSITIONS[cell].label;
+    return (char) ('a' + cell % columns) + Integer.toString(cell / columns + 1);
+  }
+
+  public int parseCell(@NotNull String input) throws InvalidPositionException {
+    if (standard) return Position.parse(input, FULL).ordinal();
+    var label = input.trim().toLowerCase();
+    if (label.length() >= 2) {
+      var column = label.charAt(0) - 'a';
+      try {
+        var row = Integer.parseInt(label.substring(1)) - 1;
+        if (column >= 0 && column < columns && row >= 0 && row < rows) return cell(row, column);
+      } catch (NumberFormatException ignored) { }
+    }
+    throw new InvalidPositionException("'" + input + "' " + " is not a valid position.");
+  }
+
+  // The masks of the standard board; meaningful only if isStandard().
+  int marks(@NotNull Symbol symbol) { return (int) bits(symbol)[0]; }
+
+  // The standard board packed into an int: noughts' mask in bits 0-8 and
+  // crosses' in bits 9-17. BatchAnalytics works on boards in this form.
+  public int pack() {
+    if (!standard) throw new IllegalStateException("Only the 3x3 board packs into an int.");
+    return (int) noughts[0] | (int) crosses[0] << 9;
+  }
+
+  static boolean hasLine(int marks) {
+    for (var line: WINNING_LINES) {
+      if ((marks & line) == line) return true;
+    }
+    return false;
+  }
+
+  static int key(int first, int second) { return TERNARY[first] + 2 * TERNARY[second]; }
+
+  int key() { return key((int) noughts[0], (int) crosses[0]); }
+
+  int free() { return ~((int) noughts[0] | (int) crosses[0]) & FULL; }
+
+  public boolean hasLine(@NotNull Symbol symbol) {
+    var bits = bits(symbol);
+    if (standard) return hasLine((int) bits[0]);
+    for (var word = 0; word < bits.length; ++word) {
+      for (var marks = bits[word]; marks != 0; marks &= marks - 1) {
+        if (hasLineThrough(bits, (word << 6) + Long.numberOfTrailingZeros(marks))) return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty(int cell) { return !isSet(noughts, cell) && !isSet(crosses, cell); }
+
+  public boolean isEmpty(@NotNull Position position) { return isEmpty(cell(position)); }
+
+  public Symbol getMark(int cell) {
+    if (isSet(noughts, cell)) return Symbol.NOUGHT;
+    if (isSet(crosses, cell)) return Symbol.CROSS;
+    return null;
+  }
+
+  public Symbol getMark(@NotNull Position position) { return getMark(cell(position)); }
+
+  public void placeMark(int cell, @NotNull Symbol symbol) throws InvalidPositionException {
+    if (cell < 0 || cell >= cellCount())
+      throw new InvalidPositionException(cell + " is not a cell on a " + rows + "x" + columns + " board.");
+    if (!isEmpty(cell))
+      throw new InvalidPositionException(label(cell) + " is not empty.");
+    mark(cell, symbol);
+  }
 
   public void placeMark(@NotNull Position position, @NotNull Symbol symbol) throws InvalidPositionException {
     if (!isEmpty(position))
       throw new InvalidPositionException(position + " is not empty.");
-    cells.put(position, symbol);
+    mark(cell(position), symbol);
   }
 
-  public @NotNull Position @NotNull [] allowedPositions() {
-    var allowed = new ArrayList<Position>();
-    for (var position: Position.values()) {
-      if (cells.get(position) == null) allowed.add(position);
+  public int moveCount() { return moveCount; }
+
+  // Takes back the last move, returning its cell. With placeMark, this
+  // lets a search make and unmake moves on one board.
+  public int unmakeMark() {
+    if (moveCount == 0) throw new IllegalStateException("There is no move to take back.");
+    var cell = moves[--moveCount];
+    var word = cell >>> 6;
+    var bit = 1L << cell;
+    if ((noughts[word] & bit) != 0) {
+      noughts[word] &= ~bit;
+      hash ^= NOUGHT_KEYS[cell];
+    } else {
+      crosses[word] &= ~bit;
+      hash ^= CROSS_KEYS[cell];
     }
-    return allowed.toArray(new Position[0]);
+    if (winningMoveCount > moveCount) winner = null;
+    return cell;
+  }
+
+  // The cell marked by the given move, counting from zero.
+  public int move(int ply) {
+    if (ply < 0 || ply >= moveCount) throw new IndexOutOfBoundsException("Move " + ply + " has not been made.");
+    return moves[ply];
+  }
+
+  // The first symbol to complete a line, or null if no line is complete.
+  public Symbol winner() { return winner; }
+
+  // The index-th empty cell, counting from the top-left.
+  int emptyCell(int index) {
+    for (var word = 0; ; ++word) {
+      var free = ~(noughts[word] | crosses[word]);
+      var count = Long.bitCount(free);
+      if (index < count) {
+        for (; index > 0; --index) free &= free - 1;
+        return (word << 6) + Long.numberOfTrailingZeros(free);
+      }
+      index -= count;
+    }
+  }
+
+  // Fills cells with the empty cells, returning how many there are.
+  int emptyCells(int @NotNull [] cells) {
+    var count = 0;
+    for (var word = 0; word < noughts.length; ++word) {
+      var free = ~(noughts[word] | crosses[word]);
+      if (word == noughts.length - 1 && (cellCount() & 63) != 0) free &= (1L << cellCount()) - 1;
+      for (; free != 0; free &= free - 1)
+        cells[count++] = (word << 6) + Long.numberOfTrailingZeros(free);
+    }
+    return count;
+  }
+
+  public int @NotNull [] allowedCells() {
+    var allowed = new int[cellCount() - moveCount];
+    emptyCells(allowed);
+    return allowed;
+  }
+
+  public @NotNull Position @NotNull [] allowedPositions() {
+    if (!standard) throw new IllegalStateException("Positions only name the cells of the 3x3 board.");
+    var free = free();
+    var allowed = new Position[Integer.bitCount(free)];
+    for (var index = 0; free != 0; free &= free - 1)
+      allowed[index++] = POSITIONS[Integer.numberOfTrailingZeros(free)];
+    return allowed;
   }
 
   public boolean hasSameSymbol(@NotNull Position @NotNull [] positions, @NotNull Symbol symbol) {
     for (var position: positions) {
-      if (cells.get(position) != symbol) return false;
+      if (getMark(position) != symbol) return false;
     }
     return true;
   }
 
   public boolean isFull(@NotNull Position @NotNull [] positions) {
     for (var position: positions) {
-      if (cells.get(position) == null) return false;
+      if (isEmpty(position)) return false;
     }
     return true;
   }
 
-  public boolean isFull() { return isFull(Position.values()); }
+  public boolean isFull() { return moveCount == cellCount(); }
 }
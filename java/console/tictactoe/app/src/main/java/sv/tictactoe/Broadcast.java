@@ -0,0 +1,246 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fans a game's moves out to any number of Spectators. A GameState given
+// a broadcast publishes to it as the game goes; each update is encoded
+// once, as a line of text in a read-only buffer that every subscriber is
+// handed a view of. The lines are:
+//
+//   newgame <rows>x<columns>x<line-length>
+//   move <ply> <symbol> <cell> <outcome>     outcome as GameState has it
+//   abandoned <symbol> <reason>
+//
+// Each subscriber has a bounded queue, drained on the broadcast's threads
+// by one task at a time. One whose queue is full when an update comes is
+// dropped, as is one that throws. A watchdog looks over the subscribers
+// every half timeout, whether or not anything is being published, and
+// drops any found in update() longer than the timeout: its thread is
+// interrupted and, on the broadcast's own pool, stood in for by another
+// until update() returns, so a stuck spectator holds up no one else.
+// Publishing never blocks, and never calls a spectator; dropped() is
+// called on the broadcast's threads too.
+public class Broadcast implements AutoCloseable {
+  public static final int DEFAULT_QUEUE_CAPACITY = 16;
+  public static final @NotNull Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+  // The start time of a subscriber not in update().
+  private static final long IDLE = Long.MIN_VALUE;
+
+  public interface Subscription extends AutoCloseable {
+    boolean isDropped();
+
+    // Stops the updates, without calling dropped.
+    @Override void close();
+  }
+
+  private class Subscriber implements Subscription {
+    private final @NotNull Spectator spectator;
+    private final @NotNull ArrayBlockingQueue<ByteBuffer> queue;
+    private final @NotNull AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed, dropped;
+    // When the update in hand was given to the spectator, and on which
+    // thread; a timed-out update is one the publisher gave up on. Only the
+    // start time is read without the lock.
+    private volatile long since = IDLE;
+    private Thread deliverer;
+    private boolean timedOut;
+
+    Subscriber(@NotNull Spectator spectator) {
+      this.spectator = spectator;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    boolean offer(@NotNull ByteBuffer update) {
+      if (!queue.offer(update)) return false;
+      if (scheduled.compareAndSet(false, true)) executor.execute(this::drain);
+      return true;
+    }
+
+    private void deliver(@NotNull ByteBuffer update) {
+      deliverer = Thread.currentThread();
+      since = System.nanoTime();
+      try {
+        spectator.update(update);
+        delivered.increment();
+      } catch (RuntimeException ex) {
+        drop(this);
+      } finally {
+        synchronized (this) {
+          since = IDLE;
+          deliverer = null;
+          if (timedOut) {
+            timedOut = false;
+            // The interrupt was meant for the spectator alone.
+            Thread.interrupted();
+            standIn(-1);
+          }
+        }
+      }
+    }
+
+    // Gives up on an update the spectator has held for longer than the
+    // timeout, returning true if it did. Called by the watchdog.
+    synchronized boolean timeOut(long now) {
+      var start = since;
+      if (timedOut || start == IDLE || now - start <= timeout) return false;
+      timedOut = true;
+      deliverer.interrupt();
+      standIn(1);
+      return true;
+    }
+
+    private void drain() {
+      for (var update = queue.poll(); update != null && !closed; update = queue.poll()) deliver(update.duplicate());
+      scheduled.set(false);
+      // An update may have arrived after the last poll but before the flag
+      // was cleared, when offer would not have scheduled a drain.
+      if (!queue.isEmpty() && !closed && scheduled.compareAndSet(false, true)) executor.execute(this::drain);
+    }
+
+    @Override public boolean isDropped() { return dropped; }
+
+    @Override
+    public void close() {
+      closed = true;
+      subscribers.remove(this);
+      queue.clear();
+    }
+  }
+
+  private final @NotNull Executor executor;
+  private final ThreadPoolExecutor pool;
+  private final int capacity;
+  private final long timeout;
+  private final @NotNull ScheduledExecutorService watchdog;
+  private final @NotNull Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final @NotNull LongAdder published = new LongAdder(), delivered = new LongAdder(), drops = new LongAdder();
+
+  // A broadcast delivering on a pool of its own, one thread per processor.
+  public Broadcast() { this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, DEFAULT_TIMEOUT); }
+
+  // A broadcast delivering on a pool of its own of the given size, which
+  // grows by a thread for each spectator stuck in update(). capacity is the
+  // number of updates a spectator may fall behind by, and timeout how long
+  // it may take over one.
+  public Broadcast(int threads, int capacity, @NotNull Duration timeout) {
+    this(new ThreadPoolExecutor(threads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      var thread = new Thread(runnable, "broadcast");
+      thread.setDaemon(true);
+      return thread;
+    }), capacity, timeout, true);
+  }
+
+  // A broadcast delivering on the given executor. A spectator stuck in
+  // update() is dropped and interrupted, but its thread is the executor's
+  // to spare.
+  public Broadcast(@NotNull Executor executor, int capacity) { this(executor, capacity, DEFAULT_TIMEOUT, false); }
+
+  public Broadcast(@NotNull Executor executor, int capacity, @NotNull Duration timeout) { this(executor, capacity, timeout, false); }
+
+  private Broadcast(@NotNull Executor executor, int capacity, @NotNull Duration timeout, boolean owned) {
+    if (capacity < 1) throw new IllegalArgumentException("A spectator's queue must hold at least one update.");
+    if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("A spectator must be given some time for an update.");
+    this.executor = executor;
+    this.pool = owned? (ThreadPoolExecutor) executor : null;
+    this.capacity = capacity;
+    this.timeout = timeout.toNanos();
+    this.watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+      var thread = new Thread(runnable, "broadcast-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    var period = Math.max(this.timeout / 2, TimeUnit.MILLISECONDS.toNanos(1));
+    watchdog.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.NANOSECONDS);
+  }
+
+  // Drops the subscribers stuck in update().
+  private void sweep() {
+    var now = System.nanoTime();
+    for (var subscriber: subscribers) {
+      if (subscriber.timeOut(now)) drop(subscriber);
+    }
+  }
+
+  // Adds a thread to the broadcast's own pool, or takes one away, as a
+  // spectator gets stuck in update() or returns from it.
+  private void standIn(int threads) {
+    if (pool == null) return;
+    synchronized (pool) {
+      pool.setCorePoolSize(pool.getCorePoolSize() + threads);
+    }
+  }
+
+  public @NotNull Subscription subscribe(@NotNull Spectator spectator) {
+    var subscriber = new Subscriber(spectator);
+    subscribers.add(subscriber);
+    return subscriber;
+  }
+
+  private void drop(@NotNull Subscriber subscriber) {
+    if (!subscribers.remove(subscriber)) return;
+    subscriber.closed = true;
+    subscriber.dropped = true;
+    subscriber.queue.clear();
+    drops.increment();
+    try {
+      executor.execute(() -> {
+        try {
+          subscriber.spectator.dropped();
+        } catch (RuntimeException ignored) { }
+      });
+    } catch (RejectedExecutionException ignored) { }
+  }
+
+  // Sends the line to every subscriber, encoded once.
+  void publish(@NotNull String line) {
+    var update = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    published.increment();
+    for (var subscriber: subscribers) {
+      if (!subscriber.offer(update)) drop(subscriber);
+    }
+  }
+
+  void newGame(@NotNull Board board) { publish("newgame " + board.rows() + "x" + board.columns() + "x" + board.winLength()); }
+
+  void moved(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull GameState.Outcome outcome) {
+    var ply = board.moveCount();
+    publish("move " + ply + " " + symbol.label + " " + board.label(board.move(ply - 1)) + " " + outcome);
+  }
+
+  void abandoned(@NotNull Board.Symbol symbol, @NotNull GameIO.AbnormalTerminationException ex) {
+    publish("abandoned " + symbol.label + " " + ex.getMessage());
+  }
+
+  public int subscribers() { return subscribers.size(); }
+
+  public long published() { return published.sum(); }
+
+  public long delivered() { return delivered.sum(); }
+
+  public long dropped() { return drops.sum(); }
+
+  // Ends every subscription, and shuts down the watchdog and the
+  // broadcast's own pool.
+  @Override
+  public void close() {
+    watchdog.shutdownNow();
+    for (var subscriber: subscribers) subscriber.close();
+    if (pool != null) pool.shutdownNow();
+  }
+}
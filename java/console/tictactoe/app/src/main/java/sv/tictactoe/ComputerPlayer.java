@@ -0,0 +1,140 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+public class ComputerPlayer implements Player {
+  public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+  public static final long UNLIMITED_NODES = Long.MAX_VALUE;
+
+  // Centre first, then the corners, then the edges.
+  private static final int @NotNull [] MOVE_ORDER = { 4, 0, 2, 6, 8, 1, 3, 5, 7 };
+  private static final @NotNull Board.Position @NotNull [] POSITIONS = Board.Position.values();
+  // A win is worth WIN plus the number of empty cells left, so that quicker
+  // wins (and slower losses) are preferred. WIN exceeds any heuristic score.
+  private static final int WIN = 100;
+
+  // Transposition table entries are indexed by the canonical key of the
+  // position as seen by the side to move, so all rotations and reflections
+  // of a position share an entry. They pack the bound kind, the depth
+  // searched, the best move (in the canonical frame) and the value (offset
+  // to be non-negative) into an int. Zero marks an empty slot.
+  private static final int EXACT = 1, LOWER = 2, UPPER = 3;
+  private static final int VALUE_OFFSET = 512;
+  private final int @NotNull [] table = new int[Board.KEYS];
+  private final int maxDepth;
+  private final long nodeBudget;
+  private long nodes;
+  private boolean truncated;
+
+  private static int pack(int bound, int depth, int move, int value) {
+    return (bound << 18) | (depth << 14) | (move << 10) | (value + VALUE_OFFSET);
+  }
+  private static int bound(int entry) { return entry >>> 18; }
+  private static int depth(int entry) { return (entry >>> 14) & 0xF; }
+  private static int move(int entry) { return (entry >>> 10) & 0xF; }
+  private static int value(int entry) { return (entry & 0x3FF) - VALUE_OFFSET; }
+
+  // The number of lines still open to the mover less those still open to
+  // the opponent; used to score positions at the search horizon.
+  private static int evaluate(int mover, int opponent) {
+    var score = 0;
+    for (var line: Board.WINNING_LINES) {
+      if ((opponent & line) == 0 && (mover & line) != 0) ++score;
+      if ((mover & line) == 0 && (opponent & line) != 0) --score;
+    }
+    return score;
+  }
+
+  private int negamax(int mover, int opponent, int depth, int alpha, int beta) {
+    ++nodes;
+    var free = ~(mover | opponent) & Board.FULL;
+    if (Board.hasLine(opponent)) return -(WIN + Integer.bitCount(free));
+    if (free == 0) return 0;
+    if (depth == 0) return evaluate(mover, opponent);
+    if (nodes >= nodeBudget) {
+      truncated = true;
+      return evaluate(mover, opponent);
+    }
+
+    var canonical = Symmetry.canonicalize(mover, opponent);
+    var key = Symmetry.key(canonical);
+    var transform = Symmetry.transform(canonical);
+    var entry = table[key];
+    var hashMove = -1;
+    if (entry != 0) {
+      hashMove = Symmetry.mapCell(Symmetry.inverse(transform), move(entry));
+      if (depth(entry) >= depth) {
+        var value = value(entry);
+        var bound = bound(entry);
+        if (bound == EXACT) return value;
+        if (bound == LOWER && value >= beta) return value;
+        if (bound == UPPER && value <= alpha) return value;
+      }
+    }
+
+    var originalAlpha = alpha;
+    var best = Integer.MIN_VALUE;
+    var bestMove = -1;
+    for (var index = -1; index < MOVE_ORDER.length; ++index) {
+      var cell = (index < 0)? hashMove : MOVE_ORDER[index];
+      if (cell < 0 || (index >= 0 && cell == hashMove) || (free & (1 << cell)) == 0) continue;
+      var value = -negamax(opponent, mover | (1 << cell), depth - 1, -beta, -alpha);
+      if (value > best) {
+        best = value;
+        bestMove = cell;
+      }
+      if (best > alpha) alpha = best;
+      if (alpha >= beta || truncated) break;
+    }
+
+    if (!truncated) {
+      var bound = (best <= originalAlpha)? UPPER : (best >= beta)? LOWER : EXACT;
+      table[key] = pack(bound, depth, Symmetry.mapCell(transform, bestMove), best);
+    }
+    return best;
+  }
+
+  public ComputerPlayer() { this(UNLIMITED_DEPTH, UNLIMITED_NODES); }
+
+  public ComputerPlayer(int maxDepth, long nodeBudget) {
+    if (maxDepth < 1) throw new IllegalArgumentException("The search depth must be at least 1.");
+    if (nodeBudget < 1) throw new IllegalArgumentException("The node budget must be at least 1.");
+    this.maxDepth = maxDepth;
+    this.nodeBudget = nodeBudget;
+  }
+
+  public @NotNull Board.Position bestMove(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    if (!board.isStandard()) throw new IllegalArgumentException("ComputerPlayer only plays on the 3x3 board.");
+    var mover = board.marks(symbol);
+    var opponent = board.marks(symbol.other());
+    var free = board.free();
+    if (free == 0) throw new IllegalStateException("There are no moves left on the board.");
+    // Searching as deep as there are empty cells is a full solve.
+    var depth = Math.min(maxDepth, Integer.bitCount(free)) - 1;
+    nodes = 0;
+    truncated = false;
+    var alpha = -Integer.MAX_VALUE;
+    var bestMove = -1;
+    for (var cell: MOVE_ORDER) {
+      if ((free & (1 << cell)) == 0) continue;
+      var value = -negamax(opponent, mover | (1 << cell), depth, -Integer.MAX_VALUE, -alpha);
+      if (bestMove < 0 || value > alpha) {
+        alpha = value;
+        bestMove = cell;
+      }
+      if (truncated) break;
+    }
+    return POSITIONS[bestMove];
+  }
+
+  public long nodesSearched() { return nodes; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    try {
+      board.placeMark(bestMove(board, symbol), symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
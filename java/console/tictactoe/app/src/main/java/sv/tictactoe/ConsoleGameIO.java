@@ -4,64 +4,148 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.util.Arrays;
 import java.util.Scanner;
 
+// Output is gathered in a buffer and written out in one go. Interactively
+// the buffer is flushed whenever input is needed, so the player sees each
+// prompt; in batch mode, meant for scripted play, it is flushed only when
+// the result of a game is declared.
 public class ConsoleGameIO implements GameIO{
+  private static final @NotNull String LINE_SEPARATOR = System.lineSeparator();
+  private static final @NotNull String INSTRUCTIONS = LINE_SEPARATOR
+      + "Type 'resign' to resign; or, 'exit' or 'quit' to end the game immediately." + LINE_SEPARATOR
+      + "Enter choice: ";
+  // The prompt for every set of free cells on the 3x3 board, by free mask.
+  private static final @NotNull String @NotNull [] PROMPTS = new String[Board.FULL + 1];
+  static {
+    var positions = Board.Position.values();
+    for (var free = 0; free <= Board.FULL; ++free) {
+      var prompt = new StringBuilder("Choose a position: ");
+      for (var cell = 0; cell < positions.length; ++cell) {
+        if ((free & (1 << cell)) == 0) continue;
+        if (prompt.charAt(prompt.length() - 1) != ' ') prompt.append(", ");
+        prompt.append(positions[cell].label);
+      }
+      PROMPTS[free] = prompt.append(INSTRUCTIONS).toString();
+    }
+  }
+
   private final PrintStream os;
   private final Scanner ss;
+  private final boolean batch;
+  private final @NotNull StringBuilder out = new StringBuilder(256);
+
+  @NotNull String displayPrompt(@NotNull Board.Position[] allowedPositions) {
+    return PROMPTS[Board.Position.mask(allowedPositions)];
+  }
+
+  private @NotNull String displayPrompt(@NotNull Board board) {
+    return "Choose an empty position from " + board.label(0) + " to " + board.label(board.cellCount() - 1) + "."
+        + INSTRUCTIONS;
+  }
+
+  void print(@NotNull String text) { out.append(text); }
+
+  void println(@NotNull String text) { out.append(text).append(LINE_SEPARATOR); }
 
-  private @NotNull String displayBoard(@NotNull Board board) { return board.toString(); }
-
-  private @NotNull String displayPrompt(@NotNull Board.Position[] allowedPositions) {
-    var lineSeparator = System.getProperty("line.separator");
-    return "Choose a position: "
-        + Arrays.stream(allowedPositions).map(position -> position.label)
-        .reduce("",(allowedPositionsString, positionLabel)
-            -> (allowedPositionsString.length() > 0)?
-            allowedPositionsString + ", " + positionLabel : positionLabel) + lineSeparator
-        + "Type 'resign' to resign; or, 'exit' or 'quit' to end the game immediately." + lineSeparator
-        + "Enter choice: ";
+  void flush() {
+    if (out.length() > 0) {
+      os.append(out);
+      out.setLength(0);
+    }
+    os.flush();
   }
 
   private @NotNull String getInput() throws AbnormalTerminationException {
+    if (!batch) flush();
+    // Running out of input, as when a piped script ends or a remote player
+    // disconnects, is treated as quitting.
+    if (!ss.hasNextLine()) throw new PlayerQuitException();
     var input = ss.nextLine();
     if (input.equals("resign")) throw new PlayerResignedException();
     if (input.equals("exit") || input.equals("quit")) throw new PlayerQuitException();
     return input;
   }
 
-  public ConsoleGameIO(@NotNull InputStream is, @NotNull PrintStream os) {
+  public ConsoleGameIO(@NotNull InputStream is, @NotNull PrintStream os) { this(is, os, false); }
+
+  public ConsoleGameIO(@NotNull InputStream is, @NotNull PrintStream os, boolean batch) {
     this.os = os;
     this.ss = new Scanner(is);
+    this.batch = batch;
   }
 
   @Override public @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException {
-    os.println(displayBoard(board));
+    if (!board.isStandard()) throw new IllegalStateException("Positions only name the cells of the 3x3 board.");
+    println(board.toString());
+    var free = board.free();
+    while (true) {
+      try {
+        print(PROMPTS[free]);
+        return Board.Position.parse(getInput(), free);
+      } catch(Board.InvalidPositionException ex) { println(ex.getMessage()); }
+    }
+  }
+
+  @Override public int getCell(@NotNull Board board) throws AbnormalTerminationException {
+    if (board.isStandard()) return board.cell(getPosition(board));
+    println(board.toString());
+    var prompt = displayPrompt(board);
+    while (true) {
+      try {
+        print(prompt);
+        var input = getInput();
+        var cell = board.parseCell(input);
+        if (!board.isEmpty(cell)) throw new Board.InvalidPositionException("'" + input + "' " + " is not a valid position.");
+        return cell;
+      } catch(Board.InvalidPositionException ex) { println(ex.getMessage()); }
+    }
+  }
+
+  @Override public int getUltimateMove(@NotNull UltimateBoard board) throws AbnormalTerminationException {
+    println(board.toString());
+    var next = board.nextBoard();
+    var prompt = (next == UltimateBoard.ANY)
+        ? "Choose an open board and a position in it, as in 'top-left middle'." + INSTRUCTIONS
+        : "Choose a position in the " + Board.Position.values()[next].label + " board." + INSTRUCTIONS;
     while (true) {
       try {
-        os.print(displayPrompt(board.allowedPositions()));
-        return Board.Position.parse(getInput(), board.allowedPositions());
-      } catch(Board.InvalidPositionException ex) { os.println(ex.getMessage()); }
+        print(prompt);
+        return board.parseMove(getInput());
+      } catch(Board.InvalidPositionException ex) { println(ex.getMessage()); }
     }
   }
 
+  @Override public void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, AbnormalTerminationException ex) {
+    println(board.toString());
+    if (ex != null) println("Player " + symbol.label + " " + ex.getMessage());
+    else if (symbol != null) println("Player " + symbol.label + " has won!");
+    else println("It's a draw.");
+    flush();
+  }
+
   @Override public void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player player) {
-    os.println(board);
-    os.println("Player " + symbol.label + " has won!");
+    println(board.toString());
+    println("Player " + symbol.label + " has won!");
+    flush();
   }
 
   @Override public void declareDraw(@NotNull Board board) {
-    os.println(board);
-    os.println("It's a draw.");
+    println(board.toString());
+    println("It's a draw.");
+    flush();
   }
 
   @Override public void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull AbnormalTerminationException ex)
   {
-    os.println(board);
-    os.println("Player " + symbol.label + " " + ex.getMessage());
+    println(board.toString());
+    println("Player " + symbol.label + " " + ex.getMessage());
+    flush();
   }
 
   @Override
-  public void systemError(@NotNull String message) { os.println(message); }
+  public void systemError(@NotNull String message) {
+    println(message);
+    if (!batch) flush();
+  }
 }
@@ -0,0 +1,134 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+// A line protocol, in the style of UCI, for driving a Player from another
+// process. Commands are:
+//
+//   newgame [<rows>x<columns>x<line-length>]  start over, optionally resizing
+//   position [startpos] [moves] <move>...     set up the board from the start
+//   go                                        reply "bestmove <move>", or
+//                                             "bestmove none" if it is over
+//   isready                                   reply "readyok"
+//   quit                                      stop
+//
+// Moves are cell labels as Board.parseCell reads them; noughts move first.
+// A command that cannot be carried out is answered with "error <reason>".
+// Replies are buffered and written out only when no more input is waiting,
+// so a client that pipelines many commands gets its replies in batches.
+public class EngineProtocol {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final @NotNull Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final @NotNull Player player;
+  private final @NotNull BufferedReader in;
+  private final @NotNull Writer out;
+  private final @NotNull GameAnalytics analytics = new GameAnalytics();
+  private @NotNull Board board = new Board();
+  private @NotNull Board scratch = new Board();
+
+  public EngineProtocol(@NotNull Player player, @NotNull InputStream is, @NotNull OutputStream os) {
+    this.player = player;
+    this.in = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII), BUFFER_SIZE);
+    this.out = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.US_ASCII), BUFFER_SIZE);
+  }
+
+  private @NotNull Board.Symbol toMove() {
+    return (board.moveCount() % 2 == 0)? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
+  }
+
+  private void reply(@NotNull String line) throws IOException {
+    out.write(line);
+    out.write('\n');
+  }
+
+  private void newGame(@NotNull String @NotNull [] words) throws IOException {
+    if (words.length == 1) board.reset();
+    else {
+      var dimensions = words[1].split("x");
+      if (words.length != 2 || dimensions.length != 3) {
+        reply("error newgame takes <rows>x<columns>x<line-length>");
+        return;
+      }
+      try {
+        board = new Board(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2]));
+        scratch = new Board(board.rows(), board.columns(), board.winLength());
+      } catch (IllegalArgumentException ex) {
+        reply("error " + ex.getMessage());
+      }
+    }
+  }
+
+  private void position(@NotNull String @NotNull [] words) throws IOException {
+    board.reset();
+    var index = 1;
+    if (index < words.length && words[index].equals("startpos")) ++index;
+    if (index < words.length && words[index].equals("moves")) ++index;
+    for (; index < words.length; ++index) {
+      if (analytics.isGameOver(board)) {
+        reply("error the game is over before " + words[index]);
+        board.reset();
+        return;
+      }
+      try {
+        board.placeMark(board.parseCell(words[index]), toMove());
+      } catch (Board.InvalidPositionException ex) {
+        reply("error " + ex.getMessage());
+        board.reset();
+        return;
+      }
+    }
+  }
+
+  private void go() throws IOException {
+    if (analytics.isGameOver(board)) {
+      reply("bestmove none");
+      return;
+    }
+    // The player moves on a copy, so the position can be searched again.
+    scratch.copyFrom(board);
+    try {
+      player.makeMove(scratch, toMove());
+    } catch (GameIO.AbnormalTerminationException | RuntimeException ex) {
+      reply("error " + ex.getMessage());
+      return;
+    }
+    if (scratch.moveCount() != board.moveCount() + 1) reply("error the player did not move");
+    else reply("bestmove " + board.label(scratch.move(board.moveCount())));
+  }
+
+  // Returns false once the client quits.
+  private boolean execute(@NotNull String line) throws IOException {
+    var words = WHITESPACE.split(line.trim());
+    var command = words[0];
+    if (command.equals("quit")) return false;
+    if (command.equals("go")) go();
+    else if (command.equals("position")) position(words);
+    else if (command.equals("newgame")) newGame(words);
+    else if (command.equals("isready")) reply("readyok");
+    else if (!command.isEmpty()) reply("error unknown command " + command);
+    return true;
+  }
+
+  public void run() throws IOException {
+    try {
+      for (var line = in.readLine(); line != null; line = in.readLine()) {
+        if (!execute(line)) break;
+        if (!in.ready()) out.flush();
+      }
+    } finally {
+      out.flush();
+    }
+  }
+}
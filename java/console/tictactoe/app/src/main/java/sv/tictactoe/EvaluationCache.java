@@ -0,0 +1,247 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Search results by position hash, in two tiers. The memory tier is a
+// set-associative table of eight-way sets, each evicting with the CLOCK
+// algorithm: a way that has been read since the hand last passed it is
+// spared once. Entries evicted from memory are written to the disk tier,
+// a memory-mapped file of four-way buckets that keeps the deeper of two
+// entries competing for a slot. On closing, the memory tier is written to
+// disk too, so the file carries what was learned into the next run.
+//
+// An entry packs into a long: the value in bits 0-31, the depth searched
+// in 32-39, the bound in 40-41 and the best move plus one in 42-57. Bit 63
+// is always set, so no entry is zero; probe returns zero for a miss. A
+// cache is not thread-safe, and its file is locked against other
+// processes while it is open.
+public class EvaluationCache implements TranspositionTable, AutoCloseable {
+  public static final int EXACT = 0, LOWER = 1, UPPER = 2;
+  public static final int NO_MOVE = -1;
+  public static final int MAX_DEPTH = 0xFF;
+
+  private static final long PRESENT = 1L << 63;
+  private static final int WAYS = 8;
+  private static final int DISK_WAYS = 4, SLOT_SIZE = 2 * Long.BYTES, BUCKET_SIZE = DISK_WAYS * SLOT_SIZE;
+  // The file starts with a header the size of a bucket: the magic number,
+  // the format version and the number of buckets.
+  private static final long MAGIC = 0x5454544341434845L;
+  private static final int VERSION = 2;
+  private static final int REGION_SIZE = 1 << 30;
+
+  private final long @NotNull [] keys, entries;
+  private final boolean @NotNull [] referenced;
+  private final byte @NotNull [] hands;
+  private final int setMask;
+  private final FileChannel channel;
+  private final FileLock lock;
+  private final MappedByteBuffer @NotNull [] regions;
+  private final long bucketMask;
+  private long hits, diskHits, misses, evictions;
+
+  public static long pack(int value, int depth, int bound, int move) {
+    return PRESENT
+        | (long) ((move + 1) & 0xFFFF) << 42
+        | (long) (bound & 0x3) << 40
+        | (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << 32
+        | (value & 0xFFFFFFFFL);
+  }
+
+  public static int value(long entry) { return (int) entry; }
+
+  public static int depth(long entry) { return (int) (entry >>> 32) & 0xFF; }
+
+  public static int bound(long entry) { return (int) (entry >>> 40) & 0x3; }
+
+  public static int move(long entry) { return ((int) (entry >>> 42) & 0xFFFF) - 1; }
+
+  // Zero marks an empty slot, so the one key that would be zero is moved.
+  private static long normalize(long key) { return (key == 0)? 1 : key; }
+
+  private static int powerOfTwoAtLeast(long count) {
+    if (count > 1 << 30) throw new IllegalArgumentException("The cache cannot hold more than 2^30 entries in a tier.");
+    return (count <= 1)? 1 : Integer.highestOneBit((int) (count - 1)) << 1;
+  }
+
+  // An in-memory cache of at least memoryEntries entries.
+  public EvaluationCache(int memoryEntries) {
+    var sets = powerOfTwoAtLeast(Math.max(memoryEntries, WAYS) / WAYS);
+    keys = new long[sets * WAYS];
+    entries = new long[sets * WAYS];
+    referenced = new boolean[sets * WAYS];
+    hands = new byte[sets];
+    setMask = sets - 1;
+    channel = null;
+    lock = null;
+    regions = new MappedByteBuffer[0];
+    bucketMask = 0;
+  }
+
+  // A cache backed by a file of at least diskEntries entries. A file
+  // written with a different size or format is started afresh.
+  public EvaluationCache(int memoryEntries, @NotNull Path file, long diskEntries) throws IOException {
+    var sets = powerOfTwoAtLeast(Math.max(memoryEntries, WAYS) / WAYS);
+    keys = new long[sets * WAYS];
+    entries = new long[sets * WAYS];
+    referenced = new boolean[sets * WAYS];
+    hands = new byte[sets];
+    setMask = sets - 1;
+    var buckets = (long) powerOfTwoAtLeast(Math.max(diskEntries, DISK_WAYS) / DISK_WAYS);
+    bucketMask = buckets - 1;
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      lock = channel.tryLock();
+      if (lock == null) throw new IOException(file + " is in use by another process.");
+      var size = BUCKET_SIZE * (buckets + 1);
+      var header = ByteBuffer.allocate(BUCKET_SIZE);
+      var warm = channel.size() == size && channel.read(header, 0) == BUCKET_SIZE
+          && header.getLong(0) == MAGIC && header.getInt(Long.BYTES) == VERSION && header.getLong(2 * Long.BYTES) == buckets;
+      if (!warm) channel.truncate(0);
+      regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+      for (var region = 0; region < regions.length; ++region) {
+        var offset = (long) region * REGION_SIZE;
+        regions[region] = channel.map(FileChannel.MapMode.READ_WRITE, offset, Math.min(REGION_SIZE, size - offset));
+      }
+      if (!warm) {
+        regions[0].putLong(0, MAGIC);
+        regions[0].putInt(Long.BYTES, VERSION);
+        regions[0].putLong(2 * Long.BYTES, buckets);
+      }
+    } catch (IOException | OverlappingFileLockException ex) {
+      channel.close();
+      if (ex instanceof IOException) throw (IOException) ex;
+      throw new IOException(file + " is already open.", ex);
+    }
+  }
+
+  private int set(long key) { return (int) (key ^ (key >>> 32)) & setMask; }
+
+  private long diskSlot(long key, int way) {
+    var bucket = ((key >>> 17) ^ (key >>> 47)) & bucketMask;
+    return BUCKET_SIZE * (bucket + 1) + (long) SLOT_SIZE * way;
+  }
+
+  private long diskGet(long slot) { return regions[(int) (slot / REGION_SIZE)].getLong((int) (slot % REGION_SIZE)); }
+
+  private void diskPut(long slot, long value) { regions[(int) (slot / REGION_SIZE)].putLong((int) (slot % REGION_SIZE), value); }
+
+  private long diskProbe(long key) {
+    for (var way = 0; way < DISK_WAYS; ++way) {
+      var slot = diskSlot(key, way);
+      if (diskGet(slot) == key) return diskGet(slot + Long.BYTES);
+    }
+    return 0;
+  }
+
+  // Replaces the entry for key, or else an empty slot in its bucket, or
+  // else the shallowest entry there if it is no deeper than this one.
+  private void diskStore(long key, long entry) {
+    var victim = -1L;
+    var victimDepth = Integer.MAX_VALUE;
+    for (var way = 0; way < DISK_WAYS; ++way) {
+      var slot = diskSlot(key, way);
+      var slotKey = diskGet(slot);
+      if (slotKey == key || slotKey == 0) {
+        victim = slot;
+        victimDepth = 0;
+        break;
+      }
+      var depth = depth(diskGet(slot + Long.BYTES));
+      if (depth < victimDepth) {
+        victim = slot;
+        victimDepth = depth;
+      }
+    }
+    if (victimDepth > depth(entry)) return;
+    diskPut(victim, key);
+    diskPut(victim + Long.BYTES, entry);
+  }
+
+  private void put(long key, long entry) {
+    var base = set(key) * WAYS;
+    for (var way = base; way < base + WAYS; ++way) {
+      if (keys[way] == key || keys[way] == 0) {
+        keys[way] = key;
+        entries[way] = entry;
+        referenced[way] = true;
+        return;
+      }
+    }
+    // Every way is taken: sweep the set's hand past referenced ways,
+    // clearing them, to the first that has not been read since.
+    var setIndex = base / WAYS;
+    var hand = hands[setIndex];
+    while (referenced[base + hand]) {
+      referenced[base + hand] = false;
+      hand = (byte) ((hand + 1) % WAYS);
+    }
+    var victim = base + hand;
+    hands[setIndex] = (byte) ((hand + 1) % WAYS);
+    ++evictions;
+    if (regions.length > 0) diskStore(keys[victim], entries[victim]);
+    keys[victim] = key;
+    entries[victim] = entry;
+    referenced[victim] = true;
+  }
+
+  // The entry for key, or zero if there is none.
+  @Override
+  public long probe(long key) {
+    key = normalize(key);
+    var base = set(key) * WAYS;
+    for (var way = base; way < base + WAYS; ++way) {
+      if (keys[way] == key) {
+        referenced[way] = true;
+        ++hits;
+        return entries[way];
+      }
+    }
+    if (regions.length > 0) {
+      var entry = diskProbe(key);
+      if (entry != 0) {
+        ++diskHits;
+        put(key, entry);
+        return entry;
+      }
+    }
+    ++misses;
+    return 0;
+  }
+
+  @Override
+  public void store(long key, int value, int depth, int bound, int move) { put(normalize(key), pack(value, depth, bound, move)); }
+
+  public long hits() { return hits; }
+
+  public long diskHits() { return diskHits; }
+
+  public long misses() { return misses; }
+
+  public long evictions() { return evictions; }
+
+  // Writes the memory tier to disk and forces the file out.
+  public void flush() {
+    if (regions.length == 0) return;
+    for (var way = 0; way < keys.length; ++way) {
+      if (keys[way] != 0) diskStore(keys[way], entries[way]);
+    }
+    for (var region: regions) region.force();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel == null) return;
+    flush();
+    lock.release();
+    channel.close();
+  }
+}
@@ -4,48 +4,86 @@ import org.jetbrains.annotations.NotNull;
 
 public class Game {
   private final @NotNull  Board board;
-  private final @NotNull GameAnalytics analytics;
-  private final @NotNull Player noughts, crosses;
-  private @NotNull Player currentPlayer;
-  private final @NotNull GameIO io;
+  private final @NotNull GameState state;
+  private @NotNull Player noughts, crosses;
+  private final @NotNull GameAnnouncer io;
 
-  private @NotNull Player nextPlayer() {
-    currentPlayer = (currentPlayer == noughts)? crosses : noughts;
-    return currentPlayer;
+  private @NotNull Player player(@NotNull Board.Symbol symbol) {
+    return (symbol == Board.Symbol.NOUGHT)? noughts : crosses;
   }
 
-  private @NotNull Board.Symbol playerSymbol() {
-    return (currentPlayer == noughts)? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
-  }
-
-  private void declareResult(GameIO.AbnormalTerminationException abnormalTermination) {
-    if (abnormalTermination != null) io.declareAbnormalTermination(board, playerSymbol(), currentPlayer, abnormalTermination);
-    else if (analytics.hasWon(board, Board.Symbol.NOUGHT)) io.declareWinner(board, Board.Symbol.NOUGHT, noughts);
-    else if (analytics.hasWon(board, Board.Symbol.CROSS)) io.declareWinner(board, Board.Symbol.CROSS, crosses);
+  private void declareResult() {
+    var outcome = state.outcome();
+    if (outcome == GameState.Outcome.ABANDONED) {
+      io.declareAbnormalTermination(board, state.toMove(), player(state.toMove()), state.termination());
+      return;
+    }
+    if (outcome == GameState.Outcome.NOUGHTS_WON) io.declareWinner(board, Board.Symbol.NOUGHT, noughts);
+    else if (outcome == GameState.Outcome.CROSSES_WON) io.declareWinner(board, Board.Symbol.CROSS, crosses);
     else io.declareDraw(board);
   }
 
-  public Game(@NotNull GameAnalytics analytics, @NotNull Player noughts, @NotNull Player crosses, @NotNull Board board, @NotNull GameIO io) {
+  public Game(@NotNull GameAnalytics analytics, @NotNull Player noughts, @NotNull Player crosses, @NotNull Board board, @NotNull GameAnnouncer io) {
     this.board = board;
-    this.analytics = analytics;
-    this.noughts = noughts;
-    this.crosses = crosses;
-    this.currentPlayer = crosses;
+    this.state = new GameState(board, Metrics.instrument(analytics));
+    this.noughts = Metrics.instrument(noughts);
+    this.crosses = Metrics.instrument(crosses);
     this.io = io;
   }
 
+  private static boolean seats(@NotNull Player seated, @NotNull Player player) {
+    return seated == player || seated instanceof InstrumentedPlayer && ((InstrumentedPlayer) seated).player() == player;
+  }
+
+  // The player, instrumented; a player already seated, perhaps on the other
+  // side, keeps their instrumented seat, so that pooled games reseating the
+  // same players allocate nothing.
+  private @NotNull Player seat(@NotNull Player player) {
+    if (seats(noughts, player)) return noughts;
+    if (seats(crosses, player)) return crosses;
+    return Metrics.instrument(player);
+  }
+
+  // Clears the board and seats new players, so that the game can be played
+  // again without building a new one.
+  public void rearm(@NotNull Player noughts, @NotNull Player crosses) {
+    board.reset();
+    var seatedNoughts = seat(noughts);
+    this.crosses = seat(crosses);
+    this.noughts = seatedNoughts;
+  }
+
+  public @NotNull Board board() { return board; }
+
+  public @NotNull GameAnnouncer io() { return io; }
+
+  public @NotNull GameState state() { return state; }
+
+  // Plays the game out on the calling thread, as a blocking loop over the
+  // game's state: each player in turn marks the board, and the state is
+  // told of the move. A player that returns without marking the board,
+  // as a human does after invalid input, is asked again.
   public void play() {
-    GameIO.AbnormalTerminationException abnormalTermination = null;
+    var event = Metrics.ENABLED? Metrics.global().gameStarted(noughts, crosses) : null;
+    state.restart();
     try {
-      while (!analytics.isGameOver(board))
-        nextPlayer().makeMove(board, playerSymbol());
-    } catch (GameIO.AbnormalTerminationException ex) { abnormalTermination = ex; }
-    declareResult(abnormalTermination);
+      while (!state.isOver()) {
+        var symbol = state.toMove();
+        var moves = board.moveCount();
+        player(symbol).makeMove(board, symbol);
+        if (board.moveCount() != moves) state.moved();
+      }
+    } catch (GameIO.AbnormalTerminationException ex) { state.abandon(ex); }
+    declareResult();
+    if (Metrics.ENABLED) Metrics.global().gameEnded(event, board, state.termination());
   }
 
-  public static @NotNull Game make() {
-    var io = new ConsoleGameIO(System.in, System.out);
-    var board = new Board();
+  public static @NotNull Game make() { return make(new Board()); }
+
+  public static @NotNull Game make(@NotNull Board board) { return make(board, false); }
+
+  public static @NotNull Game make(@NotNull Board board, boolean batch) {
+    var io = Metrics.instrument(new ConsoleGameIO(System.in, System.out, batch));
     var referee = new GameAnalytics();
     var player1 = new HumanPlayer(io);
     var player2 = new HumanPlayer(io);
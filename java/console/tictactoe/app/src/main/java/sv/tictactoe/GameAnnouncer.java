@@ -0,0 +1,20 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// The announcing half of a GameIO: what a game tells its players as it
+// ends or fails. A game needs only this much; asking for moves is left to
+// the players, each through their own GameIO.
+public interface GameAnnouncer {
+  void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer);
+
+  void declareDraw(@NotNull Board board);
+
+  void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull GameIO.AbnormalTerminationException ex);
+
+  void systemError(@NotNull String message);
+
+  // The end of an ultimate tic-tac-toe game: symbol is the winner, or null
+  // for a draw; or, if ex is not null, the player whose game it ended.
+  default void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, GameIO.AbnormalTerminationException ex) { }
+}
@@ -2,7 +2,7 @@ package sv.tictactoe;
 
 import org.jetbrains.annotations.NotNull;
 
-public interface GameIO {
+public interface GameIO extends GameAnnouncer {
   class AbnormalTerminationException extends Exception {
     AbnormalTerminationException(@NotNull String message) { super(message); }
   }
@@ -15,13 +15,13 @@ public interface GameIO {
     PlayerQuitException() { super("quit"); }
   }
 
-  @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException;
-
-  void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer);
+  class IllegalMoveException extends AbnormalTerminationException {
+    IllegalMoveException() { super("forfeited with an illegal move"); }
+  }
 
-  void declareDraw(@NotNull Board board);
+  @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException;
 
-  void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull AbnormalTerminationException ex);
+  default int getCell(@NotNull Board board) throws AbnormalTerminationException { return board.cell(getPosition(board)); }
 
-  void systemError(@NotNull String message);
+  int getUltimateMove(@NotNull UltimateBoard board) throws AbnormalTerminationException;
 }
@@ -0,0 +1,96 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// An append-only log of GameRecords in a directory of fixed-size segment
+// files, each memory-mapped while it is written. Records are eight bytes
+// and never zero, so a zero word is one never written: the unwritten tail
+// of a segment or, if a crash lost some pages of a segment but not later
+// ones, a gap. A reopened log carries on after the last record, so that no
+// record is ever overwritten, and readers skip the gaps.
+public class GameLog implements AutoCloseable {
+  public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+  static final String PREFIX = "games-", SUFFIX = ".log";
+
+  private final @NotNull Path directory;
+  private final long segmentSize;
+  private int segment;
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int position;
+
+  static @NotNull Path segmentPath(@NotNull Path directory, int segment) {
+    return directory.resolve(String.format("%s%010d%s", PREFIX, segment, SUFFIX));
+  }
+
+  static @NotNull List<Path> segments(@NotNull Path directory) throws IOException {
+    var segments = new ArrayList<Path>();
+    if (!Files.isDirectory(directory)) return segments;
+    try (var paths = Files.list(directory)) {
+      paths.filter(path -> {
+        var name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+      }).sorted().forEach(segments::add);
+    }
+    return segments;
+  }
+
+  // The number of record slots used in a mapped segment, gaps included:
+  // one past the last record. With gaps possible a binary search for the
+  // first zero word could stop short, so the tail is scanned instead.
+  static int recordCount(@NotNull MappedByteBuffer buffer) {
+    var count = buffer.capacity() / Long.BYTES;
+    while (count > 0 && buffer.getLong((count - 1) * Long.BYTES) == 0) --count;
+    return count;
+  }
+
+  private void open(int segment) throws IOException {
+    if (channel != null) {
+      buffer.force();
+      channel.close();
+    }
+    this.segment = segment;
+    channel = FileChannel.open(segmentPath(directory, segment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    // A new segment is all tail, and needs no scan.
+    var created = channel.size() == 0;
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    position = created? 0 : recordCount(buffer) * Long.BYTES;
+  }
+
+  public GameLog(@NotNull Path directory) throws IOException { this(directory, DEFAULT_SEGMENT_SIZE); }
+
+  public GameLog(@NotNull Path directory, long segmentSize) throws IOException {
+    if (segmentSize < Long.BYTES || segmentSize % Long.BYTES != 0 || segmentSize > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("A segment holds a whole number of records and is under 2 GB.");
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+    var segments = segments(directory);
+    open(segments.isEmpty()? 0 : segments.size() - 1);
+  }
+
+  public synchronized void append(long record) throws IOException {
+    if (record == 0) throw new IllegalArgumentException("A game record is never zero.");
+    if (position == segmentSize) open(segment + 1);
+    buffer.putLong(position, record);
+    position += Long.BYTES;
+  }
+
+  // Forces the current segment's records to disk.
+  public synchronized void flush() { buffer.force(); }
+
+  @Override
+  public synchronized void close() throws IOException {
+    buffer.force();
+    channel.close();
+  }
+}
@@ -0,0 +1,52 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Streams the records of a GameLog back in the order they were appended.
+// Each segment is mapped read-only in turn and records are returned as
+// longs, so reading allocates nothing per record and the log may be far
+// larger than the heap.
+public class GameLogReader implements AutoCloseable {
+  private final @NotNull List<Path> segments;
+  private int nextSegment;
+  private MappedByteBuffer buffer;
+  private int position, limit;
+  private long record;
+
+  public GameLogReader(@NotNull Path directory) throws IOException { this.segments = GameLog.segments(directory); }
+
+  private boolean openNextSegment() throws IOException {
+    if (nextSegment == segments.size()) return false;
+    try (var channel = FileChannel.open(segments.get(nextSegment++), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    position = 0;
+    limit = GameLog.recordCount(buffer) * Long.BYTES;
+    return true;
+  }
+
+  // Moves to the next record, returning false at the end of the log. Zero
+  // words, left by a crash, are skipped.
+  public boolean next() throws IOException {
+    do {
+      while (buffer == null || position == limit) {
+        if (!openNextSegment()) return false;
+      }
+      record = buffer.getLong(position);
+      position += Long.BYTES;
+    } while (record == 0);
+    return true;
+  }
+
+  public long record() { return record; }
+
+  @Override
+  public void close() { buffer = null; }
+}
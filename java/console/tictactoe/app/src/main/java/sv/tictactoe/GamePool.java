@@ -0,0 +1,34 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+// Keeps finished games, with their boards and IOs, for reuse. Once the pool
+// has grown to the number of games in flight, running back-to-back games
+// through it allocates nothing. A pool is not thread-safe; give each thread
+// its own.
+public class GamePool {
+  private final @NotNull Supplier<Board> boards;
+  private final @NotNull Supplier<? extends GameIO> ios;
+  private final @NotNull GameAnalytics analytics = new GameAnalytics();
+  private final @NotNull ArrayDeque<Game> idle = new ArrayDeque<>();
+
+  public GamePool(@NotNull Supplier<Board> boards, @NotNull Supplier<? extends GameIO> ios) {
+    this.boards = boards;
+    this.ios = ios;
+  }
+
+  // Returns a game with an empty board and the given players seated.
+  public @NotNull Game acquire(@NotNull Player noughts, @NotNull Player crosses) {
+    var game = idle.pollFirst();
+    if (game == null) return new Game(analytics, noughts, crosses, boards.get(), ios.get());
+    game.rearm(noughts, crosses);
+    return game;
+  }
+
+  public void release(@NotNull Game game) { idle.offerFirst(game); }
+
+  public int idle() { return idle.size(); }
+}
@@ -0,0 +1,69 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// A finished 3x3 game packed into a long:
+//   bits  0-35  the cell of each move, four bits per move, first move lowest
+//   bits 36-39  the number of moves
+//   bits 40-41  the outcome: DRAW, NOUGHTS_WON, CROSSES_WON or ABANDONED
+//   bits 42-43  how the game ended: NORMAL, RESIGNED, QUIT or FORFEITED
+//   bit  44     the symbol that ended it early: 0 for noughts, 1 for crosses
+//   bit  63     always set, so that no record is zero
+// Noughts make the first move, as in Game.
+public class GameRecord {
+  public static final int DRAW = 0, NOUGHTS_WON = 1, CROSSES_WON = 2, ABANDONED = 3;
+  public static final int NORMAL = 0, RESIGNED = 1, QUIT = 2, FORFEITED = 3;
+  public static final int MAX_MOVES = 9;
+
+  private static final int COUNT_SHIFT = 36, OUTCOME_SHIFT = 40, TERMINATION_SHIFT = 42, TERMINATED_BY_SHIFT = 44;
+  private static final long PRESENT = 1L << 63;
+
+  private GameRecord() { }
+
+  public static long encode(@NotNull Board board, int outcome, int termination, Board.Symbol terminatedBy) {
+    if (!board.isStandard()) throw new IllegalArgumentException("Only 3x3 games can be recorded.");
+    var record = PRESENT;
+    var moves = board.moveCount();
+    for (var ply = 0; ply < moves; ++ply) record |= (long) board.move(ply) << (4 * ply);
+    record |= (long) moves << COUNT_SHIFT;
+    record |= (long) outcome << OUTCOME_SHIFT;
+    record |= (long) termination << TERMINATION_SHIFT;
+    if (terminatedBy == Board.Symbol.CROSS) record |= 1L << TERMINATED_BY_SHIFT;
+    return record;
+  }
+
+  public static long encode(@NotNull Board board) {
+    var winner = board.winner();
+    var outcome = (winner == Board.Symbol.NOUGHT)? NOUGHTS_WON : (winner == Board.Symbol.CROSS)? CROSSES_WON : DRAW;
+    return encode(board, outcome, NORMAL, null);
+  }
+
+  public static long encode(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull GameIO.AbnormalTerminationException ex) {
+    var termination = (ex instanceof GameIO.PlayerResignedException)? RESIGNED
+        : (ex instanceof GameIO.IllegalMoveException)? FORFEITED : QUIT;
+    return encode(board, ABANDONED, termination, symbol);
+  }
+
+  public static int moves(long record) { return (int) (record >>> COUNT_SHIFT) & 0xF; }
+
+  public static int move(long record, int ply) { return (int) (record >>> (4 * ply)) & 0xF; }
+
+  public static int outcome(long record) { return (int) (record >>> OUTCOME_SHIFT) & 0x3; }
+
+  public static int termination(long record) { return (int) (record >>> TERMINATION_SHIFT) & 0x3; }
+
+  public static Board.Symbol terminatedBy(long record) {
+    if (termination(record) == NORMAL) return null;
+    return ((record >>> TERMINATED_BY_SHIFT) & 1) == 0? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
+  }
+
+  // Clears the board and makes the recorded moves on it.
+  public static void replay(long record, @NotNull Board board) throws Board.InvalidPositionException {
+    board.reset();
+    var symbol = Board.Symbol.NOUGHT;
+    for (int ply = 0, moves = moves(record); ply < moves; ++ply) {
+      board.placeMark(move(record, ply), symbol);
+      symbol = symbol.other();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hosts games between remote players over TCP. Players are paired in the
+// order they connect, the first of each pair playing noughts, and each game
+// runs on its own thread with the console protocol spoken over the socket.
+// Game threads are given small stacks, and a cap on connections bounds the
+// memory the server can use. Closing the server ends the games in progress.
+public class GameServer implements AutoCloseable {
+  public static final int DEFAULT_PORT = 4000;
+  public static final int DEFAULT_MAX_CONNECTIONS = 20_000;
+  private static final long GAME_STACK_SIZE = 256 * 1024;
+
+  private final @NotNull ServerSocket serverSocket;
+  private final int maxConnections;
+  private final @NotNull AtomicInteger connections = new AtomicInteger();
+  private final @NotNull AtomicInteger activeGames = new AtomicInteger();
+  private final @NotNull AtomicLong gamesPlayed = new AtomicLong();
+  private final @NotNull Thread acceptor;
+  // The players of games in progress, disconnected when the server closes.
+  private final @NotNull Set<SocketGameIO> playing = ConcurrentHashMap.newKeySet();
+  // Only the acceptor thread touches the waiting player.
+  private SocketGameIO waiting;
+
+  public GameServer(int port, int maxConnections) throws IOException {
+    if (maxConnections < 2) throw new IllegalArgumentException("A server must allow at least two connections.");
+    this.serverSocket = new ServerSocket();
+    this.serverSocket.setReuseAddress(true);
+    this.serverSocket.bind(new InetSocketAddress(port), 1024);
+    this.maxConnections = maxConnections;
+    this.acceptor = new Thread(this::accept, "game-server-acceptor");
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        var socket = serverSocket.accept();
+        if (connections.incrementAndGet() > maxConnections) {
+          connections.decrementAndGet();
+          try (var io = SocketGameIO.make(socket)) {
+            io.message("The server is full; try again later.");
+          }
+          continue;
+        }
+        socket.setTcpNoDelay(true);
+        var io = SocketGameIO.make(socket);
+        if (waiting != null && !waiting.isConnected()) {
+          waiting.close();
+          connections.decrementAndGet();
+          waiting = null;
+        }
+        if (waiting == null) {
+          waiting = io;
+          io.message("Waiting for an opponent...");
+        } else {
+          startGame(waiting, io);
+          waiting = null;
+        }
+      } catch (SocketException ex) {
+        if (!serverSocket.isClosed()) System.err.println("Game server: " + ex.getMessage());
+      } catch (IOException ex) {
+        System.err.println("Game server: " + ex.getMessage());
+      }
+    }
+    if (waiting != null) {
+      waiting.close();
+      connections.decrementAndGet();
+    }
+  }
+
+  private void startGame(@NotNull SocketGameIO noughts, @NotNull SocketGameIO crosses) {
+    noughts.message("You are playing " + Board.Symbol.NOUGHT.label + " and move first.");
+    crosses.message("You are playing " + Board.Symbol.CROSS.label + "; waiting for your opponent's move.");
+    activeGames.incrementAndGet();
+    playing.add(noughts);
+    playing.add(crosses);
+    Runnable play = () -> {
+      try {
+        var game = new Game(
+            new GameAnalytics(), new HumanPlayer(Metrics.instrument(noughts)), new HumanPlayer(Metrics.instrument(crosses)),
+            new Board(), new PairedGameIO(noughts, crosses));
+        game.play();
+        gamesPlayed.incrementAndGet();
+      } finally {
+        playing.remove(noughts);
+        playing.remove(crosses);
+        noughts.close();
+        crosses.close();
+        connections.addAndGet(-2);
+        activeGames.decrementAndGet();
+      }
+    };
+    new Thread(null, play, "game", GAME_STACK_SIZE).start();
+  }
+
+  public @NotNull GameServer start() {
+    acceptor.start();
+    return this;
+  }
+
+  public int port() { return serverSocket.getLocalPort(); }
+
+  public int activeGames() { return activeGames.get(); }
+
+  public long gamesPlayed() { return gamesPlayed.get(); }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    try {
+      acceptor.join();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    for (var io : playing) io.disconnect();
+  }
+}
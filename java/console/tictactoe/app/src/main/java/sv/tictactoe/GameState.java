@@ -0,0 +1,94 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// A game as a state machine advanced one move at a time: a move is
+// submitted and the outcome after it is returned. Nothing here blocks or
+// waits on a player, so any number of games can be interleaved on a few
+// threads, their moves applied in whatever order they arrive. A state is
+// not thread-safe; only one move may be submitted to it at a time.
+public class GameState {
+  public enum Outcome {
+    IN_PROGRESS, NOUGHTS_WON, CROSSES_WON, DRAW, ABANDONED;
+
+    public boolean isOver() { return this != IN_PROGRESS; }
+  }
+
+  private final @NotNull Board board;
+  private final @NotNull GameAnalytics analytics;
+  private @NotNull Board.Symbol toMove = Board.Symbol.NOUGHT;
+  private @NotNull Outcome outcome = Outcome.IN_PROGRESS;
+  private GameIO.AbnormalTerminationException termination;
+  private Broadcast broadcast;
+
+  public GameState(@NotNull Board board) { this(board, new GameAnalytics()); }
+
+  // Takes up the game on the board as it stands, with noughts to move.
+  public GameState(@NotNull Board board, @NotNull GameAnalytics analytics) {
+    this.board = board;
+    this.analytics = analytics;
+    restart();
+  }
+
+  private @NotNull Outcome judge() {
+    if (!analytics.isGameOver(board)) return Outcome.IN_PROGRESS;
+    var winner = analytics.winner(board);
+    if (winner == Board.Symbol.NOUGHT) return Outcome.NOUGHTS_WON;
+    if (winner == Board.Symbol.CROSS) return Outcome.CROSSES_WON;
+    return Outcome.DRAW;
+  }
+
+  // Starts over from the board as it stands, with noughts to move.
+  void restart() {
+    toMove = Board.Symbol.NOUGHT;
+    termination = null;
+    outcome = judge();
+    if (broadcast != null) broadcast.newGame(board);
+  }
+
+  // Records a mark that the player to move has placed on the board itself.
+  @NotNull Outcome moved() {
+    var mover = toMove;
+    toMove = toMove.other();
+    outcome = judge();
+    if (broadcast != null) broadcast.moved(board, mover, outcome);
+    return outcome;
+  }
+
+  // Publishes the game's moves from here on, or stops if broadcast is null.
+  public void broadcastTo(Broadcast broadcast) { this.broadcast = broadcast; }
+
+  public void reset() {
+    board.reset();
+    restart();
+  }
+
+  public @NotNull Board board() { return board; }
+
+  public @NotNull Board.Symbol toMove() { return toMove; }
+
+  public @NotNull Outcome outcome() { return outcome; }
+
+  public boolean isOver() { return outcome.isOver(); }
+
+  // Why the game was abandoned, or null if it was not. The player who
+  // abandoned it is the one whose turn it was, toMove().
+  public GameIO.AbnormalTerminationException termination() { return termination; }
+
+  // Places a mark for the player to move. An invalid cell leaves the state
+  // as it was.
+  public @NotNull Outcome submit(int cell) throws Board.InvalidPositionException {
+    if (outcome.isOver()) throw new IllegalStateException("The game is already over.");
+    board.placeMark(cell, toMove);
+    return moved();
+  }
+
+  // Ends the game early on behalf of the player to move.
+  public @NotNull Outcome abandon(@NotNull GameIO.AbnormalTerminationException ex) {
+    if (outcome.isOver()) throw new IllegalStateException("The game is already over.");
+    termination = ex;
+    outcome = Outcome.ABANDONED;
+    if (broadcast != null) broadcast.abandoned(toMove, ex);
+    return outcome;
+  }
+}
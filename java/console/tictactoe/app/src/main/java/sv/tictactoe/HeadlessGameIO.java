@@ -0,0 +1,46 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// A GameIO for games between computer players, with no one to prompt and
+// nothing to display. It remembers how the last game ended.
+public class HeadlessGameIO implements GameIO {
+  private Board.Symbol winner;
+  private AbnormalTerminationException termination;
+
+  // With no one to ask, a human player seated here quits at their first
+  // move, and the game ends as any other quit does.
+  @Override public @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException {
+    throw new PlayerQuitException();
+  }
+
+  @Override public int getCell(@NotNull Board board) throws AbnormalTerminationException { throw new PlayerQuitException(); }
+
+  @Override public int getUltimateMove(@NotNull UltimateBoard board) throws AbnormalTerminationException { throw new PlayerQuitException(); }
+
+  @Override public void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer) {
+    winner = symbol;
+    termination = null;
+  }
+
+  @Override public void declareDraw(@NotNull Board board) {
+    winner = null;
+    termination = null;
+  }
+
+  @Override public void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull AbnormalTerminationException ex) {
+    winner = null;
+    termination = ex;
+  }
+
+  @Override public void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, AbnormalTerminationException ex) {
+    winner = (ex == null)? symbol : null;
+    termination = ex;
+  }
+
+  @Override public void systemError(@NotNull String message) { throw new IllegalStateException(message); }
+
+  public Board.Symbol winner() { return winner; }
+
+  public AbnormalTerminationException termination() { return termination; }
+}
@@ -10,7 +10,7 @@ public class HumanPlayer implements Player {
   @Override
   public void makeMove(Board board, Board.Symbol symbol) throws GameIO.AbnormalTerminationException {
     try {
-      board.placeMark(io.getPosition(board), symbol);
+      board.placeMark(io.getCell(board), symbol);
     } catch(Board.InvalidPositionException ex) {
       io.systemError(ex.getMessage());
     }
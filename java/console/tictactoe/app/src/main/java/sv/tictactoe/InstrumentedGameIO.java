@@ -0,0 +1,65 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// Times how long players keep the game waiting for their input.
+public class InstrumentedGameIO implements GameIO {
+  private final @NotNull GameIO io;
+  private final @NotNull LatencyHistogram inputWait;
+
+  public InstrumentedGameIO(@NotNull GameIO io, @NotNull Metrics metrics) {
+    this.io = io;
+    this.inputWait = metrics.inputWaitHistogram();
+  }
+
+  @Override
+  public @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException {
+    var start = System.nanoTime();
+    try {
+      return io.getPosition(board);
+    } finally {
+      inputWait.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public int getCell(@NotNull Board board) throws AbnormalTerminationException {
+    var start = System.nanoTime();
+    try {
+      return io.getCell(board);
+    } finally {
+      inputWait.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer) {
+    io.declareWinner(board, symbol, currentPlayer);
+  }
+
+  @Override
+  public void declareDraw(@NotNull Board board) { io.declareDraw(board); }
+
+  @Override
+  public void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull AbnormalTerminationException ex) {
+    io.declareAbnormalTermination(board, symbol, currentPlayer, ex);
+  }
+
+  @Override
+  public int getUltimateMove(@NotNull UltimateBoard board) throws AbnormalTerminationException {
+    var start = System.nanoTime();
+    try {
+      return io.getUltimateMove(board);
+    } finally {
+      inputWait.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, AbnormalTerminationException ex) {
+    io.declareUltimateResult(board, symbol, ex);
+  }
+
+  @Override
+  public void systemError(@NotNull String message) { io.systemError(message); }
+}
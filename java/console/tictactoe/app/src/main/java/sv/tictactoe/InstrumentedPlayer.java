@@ -0,0 +1,44 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// Times a player's move decisions, and records each as a JFR event.
+public class InstrumentedPlayer implements Player {
+  private final @NotNull Player player;
+  private final @NotNull Metrics metrics;
+  private final @NotNull String name;
+  private final @NotNull LatencyHistogram latency;
+
+  public InstrumentedPlayer(@NotNull Player player, @NotNull Metrics metrics) {
+    this.player = player;
+    this.metrics = metrics;
+    this.name = player.getClass().getSimpleName();
+    this.latency = metrics.moveLatency(name);
+  }
+
+  public @NotNull String name() { return name; }
+
+  @NotNull Player player() { return player; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) throws GameIO.AbnormalTerminationException {
+    var event = new Metrics.MoveEvent();
+    event.begin();
+    var ply = board.moveCount();
+    var start = System.nanoTime();
+    try {
+      player.makeMove(board, symbol);
+    } finally {
+      latency.record(System.nanoTime() - start);
+      var moved = board.moveCount() > ply;
+      if (moved) metrics.moveMade();
+      if (event.shouldCommit()) {
+        event.player = name;
+        event.symbol = symbol.label;
+        event.ply = ply;
+        event.cell = moved? board.label(board.move(ply)) : null;
+        event.commit();
+      }
+    }
+  }
+}
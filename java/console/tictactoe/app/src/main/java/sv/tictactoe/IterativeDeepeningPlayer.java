@@ -0,0 +1,356 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+// A computer player for boards of any size that keeps to a TimeControl.
+// It searches one ply deeper at a time with alpha-beta negamax, keeping the
+// best move of the deepest search it finished, and stops when the move's
+// time is up or the search is cancelled. Should the clock run out before
+// even the one-ply search finishes, it plays a fallback move: the empty
+// cell nearest the centre among those next to a mark.
+//
+// Given a TranspositionTable, the search keeps the value, depth and best
+// move of each interior node it finishes, tries the cached best move first
+// and skips nodes already searched deep enough. With an EvaluationCache
+// backed by a file, a position solved in an earlier session is answered at
+// once. Once a position is solved, the move played is the first, in the
+// order moves are generated, that achieves the solved value, so it does
+// not depend on what the table held.
+//
+// The search checks the clock every few nodes rather than being
+// interrupted, so it overruns its deadline by at most a few node
+// evaluations; a tenth of each move's time is held back to cover that.
+public class IterativeDeepeningPlayer implements Player {
+  // WIN exceeds any heuristic score; a win is worth WIN plus the number of
+  // empty cells left, so that quicker wins are preferred.
+  private static final int WIN = 1 << 24;
+  private static final int MAX_WEIGHT = 1 << 10;
+  private static final int CHECK_INTERVAL = 16;
+  // On boards this small every empty cell is a candidate move.
+  private static final int SMALL_BOARD = 16;
+  // The row and column steps along a row, down a column and down the two
+  // diagonals.
+  private static final int @NotNull [] @NotNull [] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+  // Mixed into the hash of positions with crosses to move.
+  private static final long CROSS_TO_MOVE = 0x6A09E667F3BCC908L;
+
+  private final @NotNull TimeControl timeControl;
+  private final TranspositionTable cache;
+  private volatile boolean cancelled;
+  private long deadline;
+  private long nodes;
+  private boolean aborted;
+  private int completedDepth, rootValue;
+
+  // Scratch space for the current board size: the board searched, on which
+  // moves are made and unmade, a candidate list per ply, and the cells
+  // ordered from the centre outwards.
+  private Board search;
+  private int @NotNull [] @NotNull [] candidates = new int[0][];
+  private int @NotNull [] byDistance = new int[0];
+  private int @NotNull [] weights = new int[0];
+
+  public IterativeDeepeningPlayer(@NotNull TimeControl timeControl) { this(timeControl, null); }
+
+  public IterativeDeepeningPlayer(@NotNull TimeControl timeControl, TranspositionTable cache) {
+    this.timeControl = timeControl;
+    this.cache = cache;
+  }
+
+  private static long key(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    return board.hash() ^ ((symbol == Board.Symbol.CROSS)? CROSS_TO_MOVE : 0);
+  }
+
+  // Moves move to the front of the first count moves, if it is among them.
+  private static void tryFirst(int @NotNull [] moves, int count, int move) {
+    for (var index = 0; index < count; ++index) {
+      if (moves[index] == move) {
+        moves[index] = moves[0];
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+  private void prepare(@NotNull Board board) {
+    if (search != null && search.rows() == board.rows() && search.columns() == board.columns() && search.winLength() == board.winLength())
+      return;
+    var cells = board.cellCount();
+    search = new Board(board.rows(), board.columns(), board.winLength());
+    candidates = new int[cells + 1][cells];
+    // Twice the distance from the centre, to keep it integral.
+    var distance = new int[cells];
+    var order = new Integer[cells];
+    for (var cell = 0; cell < cells; ++cell) {
+      distance[cell] = Math.max(
+          Math.abs(2 * (cell / board.columns()) - (board.rows() - 1)),
+          Math.abs(2 * (cell % board.columns()) - (board.columns() - 1)));
+      order[cell] = cell;
+    }
+    Arrays.sort(order, (first, second) -> Integer.compare(distance[first], distance[second]));
+    byDistance = new int[cells];
+    for (var index = 0; index < cells; ++index) byDistance[index] = order[index];
+    // A window holding count of one player's marks and none of the other's
+    // is worth 4^count, capped well below WIN.
+    weights = new int[board.winLength() + 1];
+    for (int count = 1, weight = 1; count <= board.winLength(); ++count, weight = Math.min(MAX_WEIGHT, weight * 4))
+      weights[count] = weight;
+  }
+
+  private static boolean nextToMark(@NotNull Board board, int cell) {
+    int rows = board.rows(), columns = board.columns(), row = cell / columns, column = cell % columns;
+    for (var r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); ++r) {
+      for (var c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); ++c) {
+        if (board.getMark(board.cell(r, c)) != null) return true;
+      }
+    }
+    return false;
+  }
+
+  // Fills moves with the cells worth trying, nearest the centre first, and
+  // returns how many there are. On larger boards only cells next to a mark
+  // are tried, or the centre on an empty board.
+  private int generate(@NotNull Board board, int @NotNull [] moves) {
+    var all = board.cellCount() <= SMALL_BOARD;
+    if (!all && board.moveCount() == 0) {
+      moves[0] = byDistance[0];
+      return 1;
+    }
+    var count = 0;
+    for (var cell: byDistance) {
+      if (board.isEmpty(cell) && (all || nextToMark(board, cell))) moves[count++] = cell;
+    }
+    return count;
+  }
+
+  // Scores the board for symbol by sliding a window of the win length along
+  // every row, column and diagonal.
+  private int evaluate(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    int rows = board.rows(), columns = board.columns(), length = board.winLength();
+    var score = 0;
+    for (var direction: DIRECTIONS) {
+      int rowStep = direction[0], columnStep = direction[1];
+      for (var start = 0; start < rows * columns; ++start) {
+        int row = start / columns, column = start % columns;
+        // Only walk from the first cell of each line.
+        var previousRow = row - rowStep;
+        var previousColumn = column - columnStep;
+        if (previousRow >= 0 && previousColumn >= 0 && previousColumn < columns) continue;
+        int own = 0, other = 0, size = 0;
+        for (int r = row, c = column; r < rows && c >= 0 && c < columns; r += rowStep, c += columnStep) {
+          var mark = board.getMark(board.cell(r, c));
+          if (mark == symbol) ++own;
+          else if (mark != null) ++other;
+          if (++size > length) {
+            var leaving = board.getMark(board.cell(r - length * rowStep, c - length * columnStep));
+            if (leaving == symbol) --own;
+            else if (leaving != null) --other;
+          }
+          if (size >= length) {
+            if (other == 0) score += weights[own];
+            else if (own == 0) score -= weights[other];
+          }
+        }
+      }
+    }
+    return score;
+  }
+
+  private boolean expired() {
+    return cancelled || System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted();
+  }
+
+  private static void play(@NotNull Board board, int cell, @NotNull Board.Symbol symbol) {
+    try {
+      board.placeMark(cell, symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private int negamax(int ply, int depth, int alpha, int beta, @NotNull Board.Symbol symbol) {
+    if (++nodes % CHECK_INTERVAL == 0 && expired()) {
+      aborted = true;
+      return 0;
+    }
+    var board = search;
+    var empty = board.cellCount() - board.moveCount();
+    if (board.winner() != null) return -(WIN + empty);
+    if (empty == 0) return 0;
+    if (depth == 0) return evaluate(board, symbol);
+    var key = 0L;
+    var cachedMove = EvaluationCache.NO_MOVE;
+    if (cache != null) {
+      key = key(board, symbol);
+      var entry = cache.probe(key);
+      if (entry != 0) {
+        cachedMove = EvaluationCache.move(entry);
+        if (EvaluationCache.depth(entry) >= depth) {
+          var value = EvaluationCache.value(entry);
+          var bound = EvaluationCache.bound(entry);
+          if (bound == EvaluationCache.EXACT) return value;
+          if (bound == EvaluationCache.LOWER && value >= beta) return value;
+          if (bound == EvaluationCache.UPPER && value <= alpha) return value;
+        }
+      }
+    }
+    var moves = candidates[ply];
+    var count = generate(board, moves);
+    tryFirst(moves, count, cachedMove);
+    var originalAlpha = alpha;
+    var best = -Integer.MAX_VALUE;
+    var bestMove = EvaluationCache.NO_MOVE;
+    for (var index = 0; index < count; ++index) {
+      play(board, moves[index], symbol);
+      var value = -negamax(ply + 1, depth - 1, -beta, -alpha, symbol.other());
+      board.unmakeMark();
+      if (aborted) return 0;
+      if (value > best) {
+        best = value;
+        bestMove = moves[index];
+      }
+      if (best > alpha) alpha = best;
+      if (alpha >= beta) break;
+    }
+    if (cache != null) {
+      var bound = (best <= originalAlpha)? EvaluationCache.UPPER : (best >= beta)? EvaluationCache.LOWER : EvaluationCache.EXACT;
+      cache.store(key, best, depth, bound, bestMove);
+    }
+    return best;
+  }
+
+  // Searches the root to depth, starting with first, the best move so far.
+  // Returns the best of the moves fully searched, or -1 if the search was
+  // cut short before any move proved better than first. A helper thread in
+  // a parallel search tries the other moves in an order of its own.
+  private int searchRoot(int depth, int first, @NotNull Board.Symbol symbol, int helper) {
+    var root = search;
+    var moves = candidates[0];
+    var count = generate(root, moves);
+    tryFirst(moves, count, first);
+    if (helper > 0 && count > 2) rotate(moves, count, helper);
+    var alpha = -Integer.MAX_VALUE;
+    var best = -1;
+    for (var index = 0; index < count; ++index) {
+      play(root, moves[index], symbol);
+      var value = -negamax(1, depth - 1, -Integer.MAX_VALUE, -alpha, symbol.other());
+      root.unmakeMark();
+      if (aborted) break;
+      if (best < 0 || value > alpha) {
+        alpha = value;
+        best = moves[index];
+      }
+      if (alpha > WIN) break;
+    }
+    if (aborted) return (best == first)? -1 : best;
+    rootValue = alpha;
+    return best;
+  }
+
+  // Rotates all but the first of the first count moves by shift places.
+  private static void rotate(int @NotNull [] moves, int count, int shift) {
+    shift %= count - 1;
+    var rest = Arrays.copyOfRange(moves, 1, count);
+    for (var index = 0; index < rest.length; ++index) moves[1 + index] = rest[(index + shift) % rest.length];
+  }
+
+  // The first move, in the order they are generated, with the best value in
+  // a search of the root to depth, or -1 if the search is cut short. Every
+  // move is searched, with no early stop on finding a win.
+  private int canonicalMove(int depth, @NotNull Board.Symbol symbol) {
+    var root = search;
+    var moves = candidates[0];
+    var count = generate(root, moves);
+    var alpha = -Integer.MAX_VALUE;
+    var best = -1;
+    for (var index = 0; index < count; ++index) {
+      play(root, moves[index], symbol);
+      var value = -negamax(1, depth - 1, -Integer.MAX_VALUE, -alpha, symbol.other());
+      root.unmakeMark();
+      if (aborted) return -1;
+      if (best < 0 || value > alpha) {
+        alpha = value;
+        best = moves[index];
+      }
+    }
+    rootValue = alpha;
+    return best;
+  }
+
+  public int bestCell(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    if (board.winner() != null || board.moveCount() == board.cellCount()) throw new IllegalStateException("The game is already over.");
+    var start = System.nanoTime();
+    // A player's first move comes at ply 0 or 1, whichever symbol it plays.
+    if (board.moveCount() < 2) timeControl.newGame();
+    var movesLeft = (board.cellCount() - board.moveCount() + 1) / 2;
+    var budget = timeControl.budgetNanos(movesLeft);
+    cancelled = false;
+    var best = search(board, symbol, start + budget - budget / 10, Integer.MAX_VALUE, 0);
+    timeControl.charge(System.nanoTime() - start);
+    return best;
+  }
+
+  // Searches board for symbol until the deadline, or until maxDepth plies
+  // are done, and returns the best move. helper numbers the threads of a
+  // parallel search sharing this player's table, 0 being the one whose
+  // move is played; the others start one ply deeper on alternate threads
+  // and vary the order of the root moves, so that they fill the table with
+  // work the main thread has yet to do.
+  int search(@NotNull Board board, @NotNull Board.Symbol symbol, long deadline, int maxDepth, int helper) {
+    this.deadline = deadline;
+    aborted = false;
+    nodes = 0;
+    completedDepth = 0;
+    prepare(board);
+    search.copyFrom(board);
+    generate(search, candidates[0]);
+    var best = candidates[0][0];
+    var empty = board.cellCount() - board.moveCount();
+    var rootKey = key(board, symbol);
+    var entry = (cache != null)? cache.probe(rootKey) : 0;
+    var first = 1;
+    var cachedMove = EvaluationCache.move(entry);
+    if (entry != 0 && EvaluationCache.bound(entry) == EvaluationCache.EXACT
+        && cachedMove >= 0 && cachedMove < board.cellCount() && board.isEmpty(cachedMove)) {
+      best = cachedMove;
+      completedDepth = EvaluationCache.depth(entry);
+      first = completedDepth + 1;
+      // A position already solved needs no more search.
+      if (completedDepth >= empty || Math.abs(EvaluationCache.value(entry)) > WIN) first = empty + 1;
+    }
+    for (var depth = first + helper % 2; depth <= Math.min(empty, maxDepth) && !expired(); ++depth) {
+      var move = searchRoot(depth, best, symbol, helper);
+      if (move >= 0) best = move;
+      if (aborted) break;
+      completedDepth = depth;
+      var solved = depth == empty || Math.abs(rootValue) > WIN;
+      if (solved) {
+        move = canonicalMove(depth, symbol);
+        if (move >= 0) best = move;
+      }
+      if (cache != null && !aborted) cache.store(rootKey, rootValue, depth, EvaluationCache.EXACT, best);
+      // A forced win or loss found at this depth will not change deeper.
+      if (solved) break;
+    }
+    return best;
+  }
+
+  void clearCancel() { cancelled = false; }
+
+  // Cuts the current search short; it returns the best move found so far.
+  // May be called from any thread.
+  public void cancel() { cancelled = true; }
+
+  // The depth of the deepest search finished for the last move, 0 if the
+  // fallback move was played.
+  public int completedDepth() { return completedDepth; }
+
+  public long nodesSearched() { return nodes; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    play(board, bestCell(board, symbol), symbol);
+  }
+}
@@ -0,0 +1,81 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// A histogram of latencies in nanoseconds with a bucket per power of two,
+// which threads record into concurrently without locking. Percentiles are
+// reported as the upper bound of the bucket they fall in, so they are
+// accurate to within a factor of two.
+public class LatencyHistogram {
+  // Bucket b holds latencies below 2^b and at least 2^(b-1).
+  private final @NotNull AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+  private final @NotNull LongAdder total = new LongAdder();
+  private final @NotNull AtomicLong max = new AtomicLong();
+
+  public static class Snapshot {
+    private final long count, totalNanos, p50Nanos, p90Nanos, p99Nanos, maxNanos;
+
+    Snapshot(long count, long totalNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.p50Nanos = p50Nanos;
+      this.p90Nanos = p90Nanos;
+      this.p99Nanos = p99Nanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public long getCount() { return count; }
+
+    public long getTotalNanos() { return totalNanos; }
+
+    public double getMeanNanos() { return (count == 0)? 0 : (double) totalNanos / count; }
+
+    public long getP50Nanos() { return p50Nanos; }
+
+    public long getP90Nanos() { return p90Nanos; }
+
+    public long getP99Nanos() { return p99Nanos; }
+
+    public long getMaxNanos() { return maxNanos; }
+  }
+
+  public void record(long nanos) {
+    nanos = Math.max(0, nanos);
+    buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    total.add(nanos);
+    if (nanos > max.get()) max.accumulateAndGet(nanos, Math::max);
+  }
+
+  public void reset() {
+    for (var bucket = 0; bucket < buckets.length(); ++bucket) buckets.set(bucket, 0);
+    total.reset();
+    max.set(0);
+  }
+
+  private static long percentile(long @NotNull [] counts, long count, long max, double fraction) {
+    var rank = (long) Math.ceil(fraction * count);
+    var seen = 0L;
+    for (var bucket = 0; bucket < counts.length; ++bucket) {
+      seen += counts[bucket];
+      if (seen >= rank) return (bucket == 0)? 0 : Math.min(max, (bucket == Long.SIZE)? Long.MAX_VALUE : (1L << bucket) - 1);
+    }
+    return max;
+  }
+
+  // Recording may go on while a snapshot is taken, so its figures can be
+  // off by the few latencies recorded meanwhile.
+  public @NotNull Snapshot snapshot() {
+    var counts = new long[buckets.length()];
+    var count = 0L;
+    for (var bucket = 0; bucket < counts.length; ++bucket) count += counts[bucket] = buckets.get(bucket);
+    var max = this.max.get();
+    return new Snapshot(
+        count, total.sum(),
+        percentile(counts, count, max, 0.5), percentile(counts, count, max, 0.9), percentile(counts, count, max, 0.99),
+        max);
+  }
+}
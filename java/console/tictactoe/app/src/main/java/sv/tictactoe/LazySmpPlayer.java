@@ -0,0 +1,129 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// A parallel IterativeDeepeningPlayer in the Lazy SMP style: every thread
+// searches the same root on a board of its own, and the threads cooperate
+// only through a SharedTranspositionTable. The calling thread's search
+// decides the move; the helpers run ahead of it at other depths and in
+// other move orders, and what they store lets it cut its own search short.
+// When the main search is done the helpers are cancelled.
+//
+// How far the helpers get varies from run to run, and so does the table,
+// but a solved position's move is chosen the same way whatever the table
+// holds, so it is always the same.
+public class LazySmpPlayer implements Player, AutoCloseable {
+  private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+
+  // A fixed-depth search timed with one thread and with several, each with
+  // a table of its own.
+  public record Speedup(int threads, int depth, long singleNanos, long parallelNanos, long singleNodes, long parallelNodes) {
+    public double speedup() { return (double) singleNanos / Math.max(1, parallelNanos); }
+  }
+
+  private final @NotNull TimeControl timeControl;
+  private final @NotNull IterativeDeepeningPlayer @NotNull [] workers;
+  private final @NotNull ExecutorService pool;
+
+  public LazySmpPlayer(int threads, @NotNull TimeControl timeControl) { this(threads, timeControl, new SharedTranspositionTable()); }
+
+  public LazySmpPlayer(int threads, @NotNull TimeControl timeControl, @NotNull SharedTranspositionTable table) {
+    if (threads < 1) throw new IllegalArgumentException("A search needs at least one thread.");
+    this.timeControl = timeControl;
+    this.workers = new IterativeDeepeningPlayer[threads];
+    // The workers' own time controls go unused; the deadline is set here.
+    for (var thread = 0; thread < threads; ++thread)
+      workers[thread] = new IterativeDeepeningPlayer(TimeControl.perMove(TimeControl.UNLIMITED), table);
+    this.pool = Executors.newFixedThreadPool(Math.max(1, threads - 1), runnable -> {
+      var thread = new Thread(runnable, "lazy-smp-search");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // Searches with every thread until the deadline or maxDepth plies.
+  int search(@NotNull Board board, @NotNull Board.Symbol symbol, long deadline, int maxDepth) {
+    for (var worker: workers) worker.clearCancel();
+    var helpers = new ArrayList<Future<Integer>>(workers.length - 1);
+    for (var thread = 1; thread < workers.length; ++thread) {
+      var worker = workers[thread];
+      var helper = thread;
+      var copy = new Board(board.rows(), board.columns(), board.winLength());
+      copy.copyFrom(board);
+      helpers.add(pool.submit(() -> worker.search(copy, symbol, deadline, maxDepth, helper)));
+    }
+    var best = workers[0].search(board, symbol, deadline, maxDepth, 0);
+    for (var thread = 1; thread < workers.length; ++thread) workers[thread].cancel();
+    for (var helper: helpers) {
+      try {
+        helper.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException(ex.getCause());
+      }
+    }
+    return best;
+  }
+
+  public int bestCell(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    if (board.winner() != null || board.moveCount() == board.cellCount()) throw new IllegalStateException("The game is already over.");
+    var start = System.nanoTime();
+    if (board.moveCount() < 2) timeControl.newGame();
+    var budget = timeControl.budgetNanos((board.cellCount() - board.moveCount() + 1) / 2);
+    var best = search(board, symbol, start + budget - budget / 10, Integer.MAX_VALUE);
+    timeControl.charge(System.nanoTime() - start);
+    return best;
+  }
+
+  public void cancel() {
+    for (var worker: workers) worker.cancel();
+  }
+
+  public int threads() { return workers.length; }
+
+  // The depth of the main thread's deepest finished search.
+  public int completedDepth() { return workers[0].completedDepth(); }
+
+  // The nodes searched for the last move, across all threads.
+  public long nodesSearched() {
+    var nodes = 0L;
+    for (var worker: workers) nodes += worker.nodesSearched();
+    return nodes;
+  }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    try {
+      board.placeMark(bestCell(board, symbol), symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @Override
+  public void close() { pool.shutdownNow(); }
+
+  public static @NotNull Speedup measureSpeedup(@NotNull Board board, @NotNull Board.Symbol symbol, int threads, int depth) {
+    long singleNanos, singleNodes, parallelNanos, parallelNodes;
+    try (var single = new LazySmpPlayer(1, TimeControl.perMove(TimeControl.UNLIMITED))) {
+      var start = System.nanoTime();
+      single.search(board, symbol, start + NO_DEADLINE, depth);
+      singleNanos = System.nanoTime() - start;
+      singleNodes = single.nodesSearched();
+    }
+    try (var parallel = new LazySmpPlayer(threads, TimeControl.perMove(TimeControl.UNLIMITED))) {
+      var start = System.nanoTime();
+      parallel.search(board, symbol, start + NO_DEADLINE, depth);
+      parallelNanos = System.nanoTime() - start;
+      parallelNodes = parallel.nodesSearched();
+    }
+    return new Speedup(threads, depth, singleNanos, parallelNanos, singleNodes, parallelNodes);
+  }
+}
@@ -0,0 +1,178 @@
+package sv.tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms for the games being played, published
+// over JMX, along with JFR events for games and move decisions.
+//
+// Instrumentation is switched on with -Dtictactoe.metrics=true. ENABLED is
+// a constant, so when it is off the JIT drops the code guarded by it, and
+// the instrument methods hand back what they are given unwrapped.
+public class Metrics implements MetricsMXBean {
+  public static final boolean ENABLED = Boolean.getBoolean("tictactoe.metrics");
+  public static final @NotNull String OBJECT_NAME = "sv.tictactoe:type=Metrics";
+  private static final @NotNull Metrics GLOBAL = new Metrics();
+
+  @Name("sv.tictactoe.Game")
+  @Label("Game")
+  @Category("Tic-Tac-Toe")
+  static class GameEvent extends Event {
+    @Label("Noughts") String noughts;
+    @Label("Crosses") String crosses;
+    @Label("Moves") int moves;
+    @Label("Outcome") String outcome;
+  }
+
+  @Name("sv.tictactoe.Move")
+  @Label("Move Decision")
+  @Category("Tic-Tac-Toe")
+  static class MoveEvent extends Event {
+    @Label("Player") String player;
+    @Label("Symbol") String symbol;
+    @Label("Ply") int ply;
+    @Label("Cell") String cell;
+  }
+
+  private final @NotNull LongAdder gamesStarted = new LongAdder();
+  private final @NotNull LongAdder gamesCompleted = new LongAdder();
+  private final @NotNull LongAdder noughtsWins = new LongAdder();
+  private final @NotNull LongAdder crossesWins = new LongAdder();
+  private final @NotNull LongAdder draws = new LongAdder();
+  private final @NotNull LongAdder abandonedGames = new LongAdder();
+  private final @NotNull LongAdder moves = new LongAdder();
+  private final @NotNull LongAdder analyticsCalls = new LongAdder();
+  private final @NotNull ConcurrentHashMap<String, LatencyHistogram> moveLatency = new ConcurrentHashMap<>();
+  private final @NotNull LatencyHistogram inputWait = new LatencyHistogram();
+  private long lastReadNanos = System.nanoTime(), lastReadGames;
+
+  public static @NotNull Metrics global() { return GLOBAL; }
+
+  // Publishes the global metrics on the platform MBean server.
+  public static void register() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+    } catch (JMException ex) {
+      throw new IllegalStateException("The metrics could not be published over JMX.", ex);
+    }
+  }
+
+  public static @NotNull Player instrument(@NotNull Player player) {
+    if (!ENABLED || player instanceof InstrumentedPlayer) return player;
+    return new InstrumentedPlayer(player, GLOBAL);
+  }
+
+  public static @NotNull GameIO instrument(@NotNull GameIO io) {
+    if (!ENABLED || io instanceof InstrumentedGameIO) return io;
+    return new InstrumentedGameIO(io, GLOBAL);
+  }
+
+  public static @NotNull GameAnalytics instrument(@NotNull GameAnalytics analytics) {
+    if (!ENABLED || analytics instanceof InstrumentedAnalytics) return analytics;
+    return new InstrumentedAnalytics(analytics, GLOBAL);
+  }
+
+  private static @NotNull String name(@NotNull Player player) {
+    return (player instanceof InstrumentedPlayer)? ((InstrumentedPlayer) player).name() : player.getClass().getSimpleName();
+  }
+
+  @NotNull LatencyHistogram moveLatency(@NotNull String player) {
+    return moveLatency.computeIfAbsent(player, name -> new LatencyHistogram());
+  }
+
+  @NotNull LatencyHistogram inputWaitHistogram() { return inputWait; }
+
+  void moveMade() { moves.increment(); }
+
+  void analyticsCalled() { analyticsCalls.increment(); }
+
+  @NotNull GameEvent gameStarted(@NotNull Player noughts, @NotNull Player crosses) {
+    gamesStarted.increment();
+    var event = new GameEvent();
+    event.begin();
+    if (event.isEnabled()) {
+      event.noughts = name(noughts);
+      event.crosses = name(crosses);
+    }
+    return event;
+  }
+
+  void gameEnded(@NotNull GameEvent event, @NotNull Board board, GameIO.AbnormalTerminationException abnormalTermination) {
+    gamesCompleted.increment();
+    String outcome;
+    if (abnormalTermination != null) {
+      abandonedGames.increment();
+      outcome = abnormalTermination.getMessage();
+    } else if (board.winner() == Board.Symbol.NOUGHT) {
+      noughtsWins.increment();
+      outcome = "noughts won";
+    } else if (board.winner() == Board.Symbol.CROSS) {
+      crossesWins.increment();
+      outcome = "crosses won";
+    } else {
+      draws.increment();
+      outcome = "draw";
+    }
+    if (event.shouldCommit()) {
+      event.moves = board.moveCount();
+      event.outcome = outcome;
+      event.commit();
+    }
+  }
+
+  @Override public long getGamesStarted() { return gamesStarted.sum(); }
+
+  @Override public long getGamesCompleted() { return gamesCompleted.sum(); }
+
+  @Override public long getNoughtsWins() { return noughtsWins.sum(); }
+
+  @Override public long getCrossesWins() { return crossesWins.sum(); }
+
+  @Override public long getDraws() { return draws.sum(); }
+
+  @Override public long getAbandonedGames() { return abandonedGames.sum(); }
+
+  @Override public long getMoves() { return moves.sum(); }
+
+  @Override public long getAnalyticsCalls() { return analyticsCalls.sum(); }
+
+  @Override
+  public synchronized double getGamesPerSecond() {
+    var now = System.nanoTime();
+    var games = gamesCompleted.sum();
+    var rate = (now == lastReadNanos)? 0 : (games - lastReadGames) * 1e9 / (now - lastReadNanos);
+    lastReadNanos = now;
+    lastReadGames = games;
+    return rate;
+  }
+
+  @Override
+  public @NotNull Map<String, LatencyHistogram.Snapshot> getMoveLatency() {
+    var snapshots = new TreeMap<String, LatencyHistogram.Snapshot>();
+    moveLatency.forEach((player, histogram) -> snapshots.put(player, histogram.snapshot()));
+    return snapshots;
+  }
+
+  @Override public @NotNull LatencyHistogram.Snapshot getInputWait() { return inputWait.snapshot(); }
+
+  @Override
+  public synchronized void reset() {
+    for (var counter: new LongAdder[]{ gamesStarted, gamesCompleted, noughtsWins, crossesWins, draws, abandonedGames, moves, analyticsCalls })
+      counter.reset();
+    moveLatency.values().forEach(LatencyHistogram::reset);
+    inputWait.reset();
+    lastReadNanos = System.nanoTime();
+    lastReadGames = 0;
+  }
+}
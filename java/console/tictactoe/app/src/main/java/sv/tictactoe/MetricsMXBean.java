@@ -0,0 +1,34 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+public interface MetricsMXBean {
+  long getGamesStarted();
+
+  long getGamesCompleted();
+
+  long getNoughtsWins();
+
+  long getCrossesWins();
+
+  long getDraws();
+
+  long getAbandonedGames();
+
+  long getMoves();
+
+  long getAnalyticsCalls();
+
+  // Games completed per second since the previous reading.
+  double getGamesPerSecond();
+
+  // Move decision latencies by kind of player.
+  @NotNull Map<String, LatencyHistogram.Snapshot> getMoveLatency();
+
+  // Time spent waiting in GameIO for a player's input.
+  @NotNull LatencyHistogram.Snapshot getInputWait();
+
+  void reset();
+}
@@ -0,0 +1,246 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A Monte Carlo tree search player for boards of any size. Each move runs
+// one search per thread from the same position (root parallelism) until
+// the move's time budget is spent, then plays the move whose root child
+// was visited most across all the trees. Selection uses UCT and playouts
+// are uniformly random.
+//
+// A worker that overruns the deadline is interrupted and left out, but it
+// may still be running when the next move is searched. Its tree sits that
+// move out rather than being searched by two threads at once.
+public class MonteCarloPlayer implements Player, AutoCloseable {
+  public static final int DEFAULT_CAPACITY = 1 << 20;
+  private static final double EXPLORATION = Math.sqrt(2);
+  // How long past the deadline a worker may take to notice it.
+  private static final long GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final @NotNull ExecutorService pool;
+  private final @NotNull Tree @NotNull [] trees;
+  private final long budgetNanos, graceNanos;
+  private long iterations, overruns, skipped;
+
+  // A search tree held in parallel primitive arrays, one slot per node.
+  // The children of a node occupy consecutive slots, and the whole tree is
+  // discarded between moves, so its memory is fixed at construction.
+  private static class Tree {
+    private final int @NotNull [] cell, firstChild, childCount, visits;
+    private final float @NotNull [] score;
+    private int size;
+    private final @NotNull SplittableRandom random;
+    private final @NotNull GameAnalytics analytics = new GameAnalytics();
+    private final @NotNull AtomicBoolean busy = new AtomicBoolean();
+    private Board board;
+    private int @NotNull [] path = new int[0], empty = new int[0];
+
+    Tree(int capacity, long seed) {
+      cell = new int[capacity];
+      firstChild = new int[capacity];
+      childCount = new int[capacity];
+      visits = new int[capacity];
+      score = new float[capacity];
+      random = new SplittableRandom(seed);
+    }
+
+    private int newNode(int move) {
+      var node = size++;
+      cell[node] = move;
+      firstChild[node] = -1;
+      childCount[node] = 0;
+      visits[node] = 0;
+      score[node] = 0;
+      return node;
+    }
+
+    // Adds a child for every empty cell, unless the tree is out of room.
+    private boolean expand(int node) {
+      var count = board.emptyCells(empty);
+      if (size + count > cell.length) return false;
+      firstChild[node] = size;
+      childCount[node] = count;
+      for (var index = 0; index < count; ++index) newNode(empty[index]);
+      return true;
+    }
+
+    private int select(int node) {
+      var logVisits = Math.log(Math.max(1, visits[node]));
+      var best = -1;
+      var bestValue = Double.NEGATIVE_INFINITY;
+      for (int child = firstChild[node], end = child + childCount[node]; child < end; ++child) {
+        if (visits[child] == 0) return child;
+        var value = score[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+
+    private static void play(@NotNull Board board, int cell, @NotNull Board.Symbol symbol) {
+      try {
+        board.placeMark(cell, symbol);
+      } catch (Board.InvalidPositionException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    private void iterate(@NotNull Board root, @NotNull Board.Symbol toMove) {
+      board.copyFrom(root);
+      var node = 0;
+      var depth = 0;
+      path[depth++] = node;
+      var symbol = toMove;
+      while (!analytics.isGameOver(board)) {
+        if (firstChild[node] < 0 && (visits[node] == 0 && node != 0 || !expand(node))) break;
+        node = select(node);
+        play(board, cell[node], symbol);
+        symbol = symbol.other();
+        path[depth++] = node;
+      }
+      while (!analytics.isGameOver(board)) {
+        play(board, board.emptyCell(random.nextInt(board.cellCount() - board.moveCount())), symbol);
+        symbol = symbol.other();
+      }
+      var winner = analytics.winner(board);
+      // The node at depth d was reached by a move of toMove when d is odd.
+      for (var index = 0; index < depth; ++index) {
+        var mover = (index % 2 == 1)? toMove : toMove.other();
+        ++visits[path[index]];
+        score[path[index]] += (winner == null)? 0.5f : (winner == mover)? 1 : 0;
+      }
+    }
+
+    // Searches until the deadline and returns the root children's visit
+    // counts by cell, and the number of iterations in the last slot.
+    long @NotNull [] search(@NotNull Board root, @NotNull Board.Symbol toMove, long deadline) {
+      if (board == null || board.cellCount() != root.cellCount()) {
+        path = new int[root.cellCount() + 2];
+        empty = new int[root.cellCount()];
+      }
+      if (board == null || board.rows() != root.rows() || board.columns() != root.columns() || board.winLength() != root.winLength())
+        board = new Board(root.rows(), root.columns(), root.winLength());
+      size = 0;
+      newNode(-1);
+      board.copyFrom(root);
+      if (!expand(0)) throw new IllegalStateException("The search tree cannot hold the root's children.");
+      var count = 0L;
+      do {
+        iterate(root, toMove);
+        ++count;
+      } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+      var result = new long[root.cellCount() + 1];
+      for (int child = firstChild[0], end = child + childCount[0]; child < end; ++child)
+        result[cell[child]] = visits[child];
+      result[root.cellCount()] = count;
+      return result;
+    }
+
+    // Searches as search does, unless an earlier search of this tree is
+    // still running, in which case it returns null.
+    long[] trySearch(@NotNull Board root, @NotNull Board.Symbol toMove, long deadline) {
+      if (!busy.compareAndSet(false, true)) return null;
+      try {
+        return search(root, toMove, deadline);
+      } finally {
+        busy.set(false);
+      }
+    }
+  }
+
+  public MonteCarloPlayer(int threads, @NotNull Duration budget) { this(threads, budget, DEFAULT_CAPACITY, System.nanoTime()); }
+
+  // capacity bounds the nodes in each thread's tree.
+  public MonteCarloPlayer(int threads, @NotNull Duration budget, int capacity, long seed) {
+    this(threads, budget, capacity, seed, GRACE_NANOS);
+  }
+
+  MonteCarloPlayer(int threads, @NotNull Duration budget, int capacity, long seed, long graceNanos) {
+    if (threads < 1) throw new IllegalArgumentException("A search needs at least one thread.");
+    if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("The time budget must be positive.");
+    this.budgetNanos = budget.toNanos();
+    this.graceNanos = graceNanos;
+    this.trees = new Tree[threads];
+    for (var thread = 0; thread < threads; ++thread) trees[thread] = new Tree(capacity, seed + thread);
+    this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+      var thread = new Thread(runnable, "monte-carlo-search");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public int bestCell(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    if (new GameAnalytics().isGameOver(board)) throw new IllegalStateException("The game is already over.");
+    var deadline = System.nanoTime() + budgetNanos;
+    var futures = new ArrayList<Future<long[]>>(trees.length);
+    for (var tree: trees) {
+      var root = new Board(board.rows(), board.columns(), board.winLength());
+      root.copyFrom(board);
+      futures.add(pool.submit(() -> tree.trySearch(root, symbol, deadline)));
+    }
+    var visits = new long[board.cellCount()];
+    iterations = 0;
+    for (var future: futures) {
+      try {
+        // Give the workers a little grace to notice the deadline; a worker
+        // that overruns it is interrupted and its tree left out.
+        var result = future.get(Math.max(0, deadline - System.nanoTime()) + graceNanos, TimeUnit.NANOSECONDS);
+        if (result == null) {
+          ++skipped;
+          continue;
+        }
+        for (var cell = 0; cell < visits.length; ++cell) visits[cell] += result[cell];
+        iterations += result[visits.length];
+      } catch (TimeoutException ex) {
+        ++overruns;
+        future.cancel(true);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        future.cancel(true);
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException(ex.getCause());
+      }
+    }
+    var best = -1;
+    for (var cell = 0; cell < visits.length; ++cell) {
+      if (board.isEmpty(cell) && (best < 0 || visits[cell] > visits[best])) best = cell;
+    }
+    return best;
+  }
+
+  // The number of playouts run for the last move, across all threads.
+  public long iterations() { return iterations; }
+
+  // The number of searches so far that overran the deadline and were left
+  // out.
+  public long overruns() { return overruns; }
+
+  // The number of searches so far that found their tree still in use by
+  // one that had overrun, and so sat the move out.
+  long skipped() { return skipped; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    try {
+      board.placeMark(bestCell(board, symbol), symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @Override
+  public void close() { pool.shutdownNow(); }
+}
@@ -0,0 +1,57 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// The solved 3x3 game: for every arrangement of marks, the outcome under
+// perfect play and a best move for the side to move. The table is built
+// by MoveTableGenerator during the build and shipped as a resource.
+public class MoveTable {
+  static final String RESOURCE = "move-table.bin";
+  static final int NO_MOVE = 0xF;
+  public static final int LOSS = -1, DRAW = 0, WIN = 1;
+
+  private static final @NotNull Board.Position @NotNull [] POSITIONS = Board.Position.values();
+  private static class Holder { static final @NotNull MoveTable INSTANCE = load(); }
+
+  // One byte per position, indexed by Board.key(mover, opponent): the best
+  // move's cell in the low four bits (NO_MOVE if the game is over) and the
+  // mover's outcome plus one in the next two.
+  private final byte @NotNull [] entries;
+
+  static byte entry(int move, int outcome) { return (byte) (((outcome + 1) << 4) | move); }
+
+  private int entry(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    if (!board.isStandard()) throw new IllegalArgumentException("The move table only covers the 3x3 board.");
+    return entries[Board.key(board.marks(symbol), board.marks(symbol.other()))];
+  }
+
+  MoveTable(byte @NotNull [] entries) {
+    if (entries.length != Board.KEYS)
+      throw new IllegalArgumentException("A move table has " + Board.KEYS + " entries, not " + entries.length + ".");
+    this.entries = entries;
+  }
+
+  public static @NotNull MoveTable load() {
+    try (var is = MoveTable.class.getResourceAsStream(RESOURCE)) {
+      if (is == null) throw new IllegalStateException("The " + RESOURCE + " resource is missing; run the generateMoveTable task.");
+      return new MoveTable(is.readAllBytes());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  public static @NotNull MoveTable instance() { return Holder.INSTANCE; }
+
+  // Returns null if the game is already over.
+  public Board.Position bestMove(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    var move = entry(board, symbol) & 0xF;
+    return (move == NO_MOVE)? null : POSITIONS[move];
+  }
+
+  public int outcome(@NotNull Board board, @NotNull Board.Symbol symbol) {
+    return ((entry(board, symbol) >>> 4) & 0x3) - 1;
+  }
+}
@@ -0,0 +1,67 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Solves every arrangement of marks on the 3x3 board and writes the
+// resulting MoveTable to the file named by the first argument.
+public class MoveTableGenerator {
+  // Centre first, then the corners, then the edges.
+  private static final int @NotNull [] MOVE_ORDER = { 4, 0, 2, 6, 8, 1, 3, 5, 7 };
+
+  // Scores are one plus the number of empty cells for a win, so that
+  // quicker wins (and slower losses) are preferred, and zero for a draw.
+  private final int @NotNull [] scores = new int[Board.KEYS];
+  private final boolean @NotNull [] solved = new boolean[Board.KEYS];
+  private final byte @NotNull [] entries = new byte[Board.KEYS];
+
+  private int solve(int mover, int opponent) {
+    var key = Board.key(mover, opponent);
+    if (solved[key]) return scores[key];
+    var free = ~(mover | opponent) & Board.FULL;
+    var score = Integer.MIN_VALUE;
+    var bestMove = MoveTable.NO_MOVE;
+    if (Board.hasLine(opponent)) score = -(1 + Integer.bitCount(free));
+    else if (Board.hasLine(mover)) score = 1 + Integer.bitCount(free);
+    else if (free == 0) score = 0;
+    else {
+      for (var cell: MOVE_ORDER) {
+        if ((free & (1 << cell)) == 0) continue;
+        var value = -solve(opponent, mover | (1 << cell));
+        if (value > score) {
+          score = value;
+          bestMove = cell;
+        }
+      }
+    }
+    scores[key] = score;
+    solved[key] = true;
+    entries[key] = MoveTable.entry(bestMove, Integer.signum(score));
+    return score;
+  }
+
+  public byte @NotNull [] generate() {
+    for (var mover = 0; mover <= Board.FULL; ++mover) {
+      // Visit every subset of the cells the mover has left empty.
+      var rest = ~mover & Board.FULL;
+      for (var opponent = rest; ; opponent = (opponent - 1) & rest) {
+        solve(mover, opponent);
+        if (opponent == 0) break;
+      }
+    }
+    return entries;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: MoveTableGenerator <output-file>");
+      System.exit(1);
+    }
+    var output = Path.of(args[0]);
+    if (output.getParent() != null) Files.createDirectories(output.getParent());
+    Files.write(output, new MoveTableGenerator().generate());
+  }
+}
@@ -0,0 +1,40 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// The game-wide announcer for a game between two players who each have
+// their own GameIO: each player is asked for moves through their own, and
+// results are announced to both.
+public class PairedGameIO implements GameAnnouncer {
+  private final @NotNull GameAnnouncer noughts, crosses;
+
+  public PairedGameIO(@NotNull GameAnnouncer noughts, @NotNull GameAnnouncer crosses) {
+    this.noughts = noughts;
+    this.crosses = crosses;
+  }
+
+  @Override public void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer) {
+    noughts.declareWinner(board, symbol, currentPlayer);
+    crosses.declareWinner(board, symbol, currentPlayer);
+  }
+
+  @Override public void declareDraw(@NotNull Board board) {
+    noughts.declareDraw(board);
+    crosses.declareDraw(board);
+  }
+
+  @Override public void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull GameIO.AbnormalTerminationException ex) {
+    noughts.declareAbnormalTermination(board, symbol, currentPlayer, ex);
+    crosses.declareAbnormalTermination(board, symbol, currentPlayer, ex);
+  }
+
+  @Override public void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, GameIO.AbnormalTerminationException ex) {
+    noughts.declareUltimateResult(board, symbol, ex);
+    crosses.declareUltimateResult(board, symbol, ex);
+  }
+
+  @Override public void systemError(@NotNull String message) {
+    noughts.systemError(message);
+    crosses.systemError(message);
+  }
+}
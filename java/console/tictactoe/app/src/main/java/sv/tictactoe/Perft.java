@@ -0,0 +1,220 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Counts the game tree below a position ply by ply: the positions reached,
+// the legal moves from them, and how many games end at each ply and how.
+// In the plain mode every path is counted, as perft counts move paths to
+// check a chess move generator; in the deduplicated mode each distinct
+// position is counted once, however many move orders reach it. From the
+// empty 3x3 board these are the well-known 255,168 games and 5,478
+// positions.
+//
+// The plain mode forks a task per move for the first few plies, and below
+// that each task walks its subtree alone, making and unmaking moves on its
+// own board. The deduplicated mode goes a ply at a time, expanding each
+// ply's positions in parallel into a concurrent set of position hashes.
+public class Perft implements AutoCloseable {
+  // Plies near the root that fork a task per move.
+  private static final int SPLIT_PLIES = 2;
+  // Positions a deduplicated task expands without splitting further.
+  private static final int GRAIN = 64;
+
+  // Indexed by ply from the root.
+  public record Result(
+      long @NotNull [] positions, long @NotNull [] moves, long @NotNull [] noughtsWins, long @NotNull [] crossesWins, long @NotNull [] draws,
+      long nanos) {
+    private static long sum(long @NotNull [] counts) {
+      var total = 0L;
+      for (var count: counts) total += count;
+      return total;
+    }
+
+    public long totalPositions() { return sum(positions); }
+
+    public long totalMoves() { return sum(moves); }
+
+    public long games() { return sum(noughtsWins) + sum(crossesWins) + sum(draws); }
+
+    public double positionsPerSecond() { return (nanos == 0)? 0 : totalPositions() * 1e9 / nanos; }
+  }
+
+  private static class Tally {
+    final long @NotNull [] positions, moves, noughtsWins, crossesWins, draws;
+
+    Tally(int plies) {
+      positions = new long[plies];
+      moves = new long[plies];
+      noughtsWins = new long[plies];
+      crossesWins = new long[plies];
+      draws = new long[plies];
+    }
+
+    void add(@NotNull Tally other) {
+      for (var ply = 0; ply < positions.length; ++ply) {
+        positions[ply] += other.positions[ply];
+        moves[ply] += other.moves[ply];
+        noughtsWins[ply] += other.noughtsWins[ply];
+        crossesWins[ply] += other.crossesWins[ply];
+        draws[ply] += other.draws[ply];
+      }
+    }
+  }
+
+  private final @NotNull ForkJoinPool pool;
+  private final @NotNull GameAnalytics analytics = new GameAnalytics();
+
+  public Perft(int parallelism) { this.pool = new ForkJoinPool(parallelism); }
+
+  private static @NotNull Board copy(@NotNull Board board) {
+    var copy = new Board(board.rows(), board.columns(), board.winLength());
+    copy.copyFrom(board);
+    return copy;
+  }
+
+  private static @NotNull Board.Symbol toMove(@NotNull Board board) {
+    return (board.moveCount() % 2 == 0)? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
+  }
+
+  private static void play(@NotNull Board board, int cell) {
+    try {
+      board.placeMark(cell, toMove(board));
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  // Counts the board at ply, and the legal moves from it, returning true if
+  // the game goes on from it. Until the game is over every empty cell is a
+  // legal move.
+  private boolean count(@NotNull Board board, int ply, @NotNull Tally tally) {
+    ++tally.positions[ply];
+    if (!analytics.isGameOver(board)) {
+      tally.moves[ply] += board.cellCount() - board.moveCount();
+      return true;
+    }
+    var winner = analytics.winner(board);
+    if (winner == Board.Symbol.NOUGHT) ++tally.noughtsWins[ply];
+    else if (winner == Board.Symbol.CROSS) ++tally.crossesWins[ply];
+    else ++tally.draws[ply];
+    return false;
+  }
+
+  private class Subtree extends RecursiveTask<Tally> {
+    private final @NotNull Board board;
+    private final int ply, depth;
+
+    Subtree(@NotNull Board board, int ply, int depth) {
+      this.board = board;
+      this.ply = ply;
+      this.depth = depth;
+    }
+
+    private void walk(int ply, @NotNull Tally tally, int @NotNull [] @NotNull [] cells) {
+      if (!count(board, ply, tally) || ply == depth) return;
+      var moves = cells[ply];
+      var count = board.emptyCells(moves);
+      for (var index = 0; index < count; ++index) {
+        play(board, moves[index]);
+        walk(ply + 1, tally, cells);
+        board.unmakeMark();
+      }
+    }
+
+    @Override
+    protected Tally compute() {
+      var tally = new Tally(depth + 1);
+      if (ply >= SPLIT_PLIES) {
+        walk(ply, tally, new int[depth + 1][board.cellCount()]);
+        return tally;
+      }
+      if (!count(board, ply, tally) || ply == depth) return tally;
+      var cells = board.allowedCells();
+      var subtrees = new ArrayList<Subtree>(cells.length);
+      for (var cell: cells) {
+        var child = copy(board);
+        play(child, cell);
+        subtrees.add(new Subtree(child, ply + 1, depth));
+      }
+      for (var subtree: invokeAll(subtrees)) tally.add(subtree.join());
+      return tally;
+    }
+  }
+
+  // Expands the positions of one ply, from first up to last, adding those
+  // of the next ply not seen before to next.
+  private class Level extends RecursiveTask<Tally> {
+    private final @NotNull List<Board> boards;
+    private final int first, last, ply, depth;
+    private final @NotNull Set<Long> seen;
+    private final @NotNull ConcurrentLinkedQueue<Board> next;
+
+    Level(@NotNull List<Board> boards, int first, int last, int ply, int depth, @NotNull Set<Long> seen, @NotNull ConcurrentLinkedQueue<Board> next) {
+      this.boards = boards;
+      this.first = first;
+      this.last = last;
+      this.ply = ply;
+      this.depth = depth;
+      this.seen = seen;
+      this.next = next;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (last - first > GRAIN) {
+        var middle = (first + last) >>> 1;
+        var left = new Level(boards, first, middle, ply, depth, seen, next);
+        left.fork();
+        var tally = new Level(boards, middle, last, ply, depth, seen, next).compute();
+        tally.add(left.join());
+        return tally;
+      }
+      var tally = new Tally(depth + 1);
+      for (var index = first; index < last; ++index) {
+        var board = boards.get(index);
+        if (!count(board, ply, tally) || ply == depth) continue;
+        for (var cell: board.allowedCells()) {
+          // Only a position not seen before is worth copying.
+          play(board, cell);
+          if (seen.add(board.hash())) next.add(copy(board));
+          board.unmakeMark();
+        }
+      }
+      return tally;
+    }
+  }
+
+  // Counts the tree below root to depth plies, or to the end of every game
+  // if depth covers the board. Noughts moves first.
+  public @NotNull Result count(@NotNull Board root, int depth, boolean deduplicate) {
+    if (depth < 0) throw new IllegalArgumentException("The depth cannot be negative.");
+    depth = Math.min(depth, root.cellCount() - root.moveCount());
+    var start = System.nanoTime();
+    Tally tally;
+    if (!deduplicate) tally = pool.invoke(new Subtree(copy(root), 0, depth));
+    else {
+      tally = new Tally(depth + 1);
+      Set<Long> seen = ConcurrentHashMap.newKeySet();
+      List<Board> boards = List.of(copy(root));
+      for (var ply = 0; ply <= depth && !boards.isEmpty(); ++ply) {
+        var next = new ConcurrentLinkedQueue<Board>();
+        tally.add(pool.invoke(new Level(boards, 0, boards.size(), ply, depth, seen, next)));
+        boards = new ArrayList<>(next);
+      }
+    }
+    return new Result(tally.positions, tally.moves, tally.noughtsWins, tally.crossesWins, tally.draws, System.nanoTime() - start);
+  }
+
+  public @NotNull Result count(@NotNull Board root) { return count(root, root.cellCount(), false); }
+
+  @Override
+  public void close() { pool.shutdown(); }
+}
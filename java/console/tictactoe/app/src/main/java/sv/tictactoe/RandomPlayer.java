@@ -0,0 +1,24 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+public class RandomPlayer implements Player {
+  private final @NotNull SplittableRandom random;
+
+  public RandomPlayer() { this(new SplittableRandom()); }
+
+  public RandomPlayer(long seed) { this(new SplittableRandom(seed)); }
+
+  public RandomPlayer(@NotNull SplittableRandom random) { this.random = random; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    try {
+      board.placeMark(board.emptyCell(random.nextInt(board.cellCount() - board.moveCount())), symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Wraps another GameIO, appending a GameRecord of each finished game to a
+// GameLog before passing the result on.
+public class RecordingGameIO implements GameIO {
+  private final @NotNull GameIO io;
+  private final @NotNull GameLog log;
+
+  private void record(long record) {
+    try {
+      log.append(record);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  public RecordingGameIO(@NotNull GameIO io, @NotNull GameLog log) {
+    this.io = io;
+    this.log = log;
+  }
+
+  @Override public @NotNull Board.Position getPosition(@NotNull Board board) throws AbnormalTerminationException {
+    return io.getPosition(board);
+  }
+
+  @Override public int getCell(@NotNull Board board) throws AbnormalTerminationException { return io.getCell(board); }
+
+  @Override public void declareWinner(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer) {
+    record(GameRecord.encode(board));
+    io.declareWinner(board, symbol, currentPlayer);
+  }
+
+  @Override public void declareDraw(@NotNull Board board) {
+    record(GameRecord.encode(board));
+    io.declareDraw(board);
+  }
+
+  @Override public void declareAbnormalTermination(@NotNull Board board, @NotNull Board.Symbol symbol, @NotNull Player currentPlayer, @NotNull AbnormalTerminationException ex) {
+    record(GameRecord.encode(board, symbol, ex));
+    io.declareAbnormalTermination(board, symbol, currentPlayer, ex);
+  }
+
+  // Game records hold 3x3 games only, so ultimate games pass through.
+  @Override public int getUltimateMove(@NotNull UltimateBoard board) throws AbnormalTerminationException {
+    return io.getUltimateMove(board);
+  }
+
+  @Override public void declareUltimateResult(@NotNull UltimateBoard board, Board.Symbol symbol, AbnormalTerminationException ex) {
+    io.declareUltimateResult(board, symbol, ex);
+  }
+
+  @Override public void systemError(@NotNull String message) { io.systemError(message); }
+}
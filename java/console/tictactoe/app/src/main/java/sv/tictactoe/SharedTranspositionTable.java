@@ -0,0 +1,47 @@
+package sv.tictactoe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A TranspositionTable that any number of threads may probe and store to at
+// once, without locks. Each slot is a pair of longs: the packed entry, and
+// the position's key exclusive-or'd with the entry. The two are written
+// separately, so a reader racing a writer may see the half of one store
+// and the half of another; the key it recovers from the pair then fails to
+// match, and the probe misses rather than returning another position's
+// entry. A slot keeps the deeper of two entries for the same position and
+// otherwise holds the latest.
+public class SharedTranspositionTable implements TranspositionTable {
+  public static final int DEFAULT_ENTRIES = 1 << 20;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+
+  public SharedTranspositionTable() { this(DEFAULT_ENTRIES); }
+
+  // A table of at least entries entries.
+  public SharedTranspositionTable(int entries) {
+    if (entries < 1 || entries > 1 << 29) throw new IllegalArgumentException("A table holds from 1 to 2^29 entries.");
+    var size = (entries == 1)? 1 : Integer.highestOneBit(entries - 1) << 1;
+    slots = new AtomicLongArray(2 * size);
+    mask = size - 1;
+  }
+
+  private int slot(long key) { return 2 * ((int) (key ^ (key >>> 32)) & mask); }
+
+  @Override
+  public long probe(long key) {
+    var slot = slot(key);
+    var entry = slots.getOpaque(slot);
+    return (entry != 0 && (slots.getOpaque(slot + 1) ^ entry) == key)? entry : 0;
+  }
+
+  @Override
+  public void store(long key, int value, int depth, int bound, int move) {
+    var slot = slot(key);
+    var entry = EvaluationCache.pack(value, depth, bound, move);
+    var old = slots.getOpaque(slot);
+    if (old != 0 && (slots.getOpaque(slot + 1) ^ old) == key && EvaluationCache.depth(old) > depth) return;
+    slots.setOpaque(slot, entry);
+    slots.setOpaque(slot + 1, key ^ entry);
+  }
+}
@@ -0,0 +1,101 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+// Plays many headless games between two kinds of player, spread across a
+// fork-join pool. Each worker thread builds its own board, players and
+// game once and replays them, and each task tallies into its own counts,
+// which are summed as the tasks join; nothing is shared while games run.
+public class Simulation {
+  public record Result(
+      long games, long noughtsWins, long crossesWins, long draws, long abnormalTerminations,
+      long @NotNull [] gameLengths, long nanoseconds) {
+    public double gamesPerSecond() { return (nanoseconds == 0)? 0 : games * 1e9 / nanoseconds; }
+  }
+
+  private static final int BATCH_SIZE = 1024;
+
+  private final @NotNull Supplier<Board> boards;
+  private final @NotNull Supplier<? extends Player> noughts, crosses;
+  private final @NotNull ForkJoinPool pool;
+  private final @NotNull ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+  private class Worker {
+    final @NotNull Board board = boards.get();
+    final @NotNull HeadlessGameIO io = new HeadlessGameIO();
+    final @NotNull Game game = new Game(new GameAnalytics(), noughts.get(), crosses.get(), board, io);
+  }
+
+  private static class Tally {
+    long noughtsWins, crossesWins, draws, abnormalTerminations;
+    final long @NotNull [] gameLengths;
+
+    Tally(int cellCount) { this.gameLengths = new long[cellCount + 1]; }
+
+    void add(@NotNull Tally other) {
+      noughtsWins += other.noughtsWins;
+      crossesWins += other.crossesWins;
+      draws += other.draws;
+      abnormalTerminations += other.abnormalTerminations;
+      for (var length = 0; length < gameLengths.length; ++length) gameLengths[length] += other.gameLengths[length];
+    }
+  }
+
+  private class Batch extends RecursiveTask<Tally> {
+    private final long games;
+
+    Batch(long games) { this.games = games; }
+
+    @Override protected Tally compute() {
+      if (games > BATCH_SIZE) {
+        var left = new Batch(games / 2);
+        left.fork();
+        var tally = new Batch(games - games / 2).compute();
+        tally.add(left.join());
+        return tally;
+      }
+      var worker = workers.get();
+      var board = worker.board;
+      var tally = new Tally(board.cellCount());
+      for (var game = 0L; game < games; ++game) {
+        board.reset();
+        worker.game.play();
+        if (worker.io.termination() != null) ++tally.abnormalTerminations;
+        else if (worker.io.winner() == Board.Symbol.NOUGHT) ++tally.noughtsWins;
+        else if (worker.io.winner() == Board.Symbol.CROSS) ++tally.crossesWins;
+        else ++tally.draws;
+        ++tally.gameLengths[board.moveCount()];
+      }
+      return tally;
+    }
+  }
+
+  // The suppliers are called once per worker thread, so players need not
+  // be thread-safe.
+  public Simulation(@NotNull Supplier<Board> boards, @NotNull Supplier<? extends Player> noughts, @NotNull Supplier<? extends Player> crosses) {
+    this(boards, noughts, crosses, ForkJoinPool.commonPool());
+  }
+
+  public Simulation(
+      @NotNull Supplier<Board> boards, @NotNull Supplier<? extends Player> noughts, @NotNull Supplier<? extends Player> crosses,
+      @NotNull ForkJoinPool pool) {
+    this.boards = boards;
+    this.noughts = noughts;
+    this.crosses = crosses;
+    this.pool = pool;
+  }
+
+  public @NotNull Result run(long games) {
+    if (games < 0) throw new IllegalArgumentException("The number of games cannot be negative.");
+    var start = System.nanoTime();
+    var tally = pool.invoke(new Batch(games));
+    var elapsed = System.nanoTime() - start;
+    return new Result(
+        games, tally.noughtsWins, tally.crossesWins, tally.draws, tally.abnormalTerminations,
+        tally.gameLengths, elapsed);
+  }
+}
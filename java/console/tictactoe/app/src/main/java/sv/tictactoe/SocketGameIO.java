@@ -0,0 +1,77 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+// The console protocol spoken over a socket: the remote player sees the
+// same board, prompts and messages as a console player, and types the same
+// positions and commands.
+public class SocketGameIO extends ConsoleGameIO implements AutoCloseable {
+  // Small buffers keep the memory held by each idle connection low.
+  private static final int BUFFER_SIZE = 512;
+
+  private final @NotNull Socket socket;
+  private final @NotNull BufferedInputStream in;
+
+  private SocketGameIO(@NotNull Socket socket, @NotNull BufferedInputStream in, @NotNull PrintStream os) {
+    super(in, os);
+    this.socket = socket;
+    this.in = in;
+  }
+
+  public static @NotNull SocketGameIO make(@NotNull Socket socket) throws IOException {
+    return new SocketGameIO(
+        socket, new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE),
+        new PrintStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE), true));
+  }
+
+  public void message(@NotNull String message) {
+    println(message);
+    flush();
+  }
+
+  // Whether the remote player is still there, found without consuming any
+  // input: a read that would block means an open connection; end of stream
+  // or an error means a closed one. Only call this while no game is
+  // reading from the connection.
+  public boolean isConnected() {
+    try {
+      if (in.available() > 0) return true;
+      socket.setSoTimeout(1);
+      in.mark(1);
+      var next = in.read();
+      in.reset();
+      return next >= 0;
+    } catch (SocketTimeoutException ex) {
+      return true;
+    } catch (IOException ex) {
+      return false;
+    } finally {
+      try {
+        socket.setSoTimeout(0);
+      } catch (IOException ignored) { }
+    }
+  }
+
+  // Closes the connection from any thread, without flushing output, so
+  // that a game blocked reading from it ends as if the player had quit.
+  public void disconnect() {
+    try {
+      socket.close();
+    } catch (IOException ignored) { }
+  }
+
+  @Override
+  public void close() {
+    flush();
+    try {
+      socket.close();
+    } catch (IOException ignored) { }
+  }
+}
@@ -0,0 +1,20 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+// An observer of a game's Broadcast. Updates arrive in order, one at a time,
+// on the broadcast's threads; each is a read-only view of a buffer shared
+// with every other spectator, holding one line of ASCII text. update should
+// return promptly, handing anything slow to a thread of the spectator's
+// own; one found taking longer than the broadcast's timeout, by a watchdog
+// that looks every half timeout, is interrupted and dropped.
+public interface Spectator {
+  void update(@NotNull ByteBuffer update);
+
+  // Called once, on the broadcast's threads, if the spectator is dropped
+  // for falling behind, for throwing from update or for taking too long
+  // over one, after which no more updates come.
+  default void dropped() { }
+}
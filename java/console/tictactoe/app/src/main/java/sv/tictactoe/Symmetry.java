@@ -0,0 +1,84 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// The eight symmetries of the square acting on the 3x3 board. A position's
+// canonical form is the image with the smallest Board.key under any of the
+// symmetries; positions that are rotations or reflections of each other
+// share a canonical form. Masks are mapped through precomputed tables, so
+// canonicalizing costs sixteen array reads.
+public class Symmetry {
+  public static final int IDENTITY = 0;
+  public static final int COUNT = 8;
+
+  private static final @NotNull Board.Position @NotNull [] POSITIONS = Board.Position.values();
+  // CELLS[transform][cell] is the cell that cell is carried to.
+  private static final int @NotNull [] @NotNull [] CELLS = new int[COUNT][POSITIONS.length];
+  // MASKS[transform][mask] is the image of the mask.
+  private static final short @NotNull [] @NotNull [] MASKS = new short[COUNT][Board.FULL + 1];
+  private static final int @NotNull [] INVERSE = new int[COUNT];
+  static {
+    for (var position: POSITIONS) {
+      int row = position.row, column = position.column;
+      int[][] images = {
+          { row, column },         // identity
+          { column, 2 - row },     // rotate a quarter turn clockwise
+          { 2 - row, 2 - column }, // rotate a half turn
+          { 2 - column, row },     // rotate a quarter turn anticlockwise
+          { row, 2 - column },     // reflect left to right
+          { 2 - row, column },     // reflect top to bottom
+          { column, row },         // reflect in the primary diagonal
+          { 2 - column, 2 - row }  // reflect in the secondary diagonal
+      };
+      for (var transform = 0; transform < COUNT; ++transform)
+        CELLS[transform][position.ordinal()] = images[transform][0] * 3 + images[transform][1];
+    }
+    for (var transform = 0; transform < COUNT; ++transform) {
+      for (var mask = 1; mask <= Board.FULL; ++mask) {
+        var cell = Integer.numberOfTrailingZeros(mask);
+        MASKS[transform][mask] = (short) (MASKS[transform][mask & (mask - 1)] | (1 << CELLS[transform][cell]));
+      }
+      for (var inverse = 0; inverse < COUNT; ++inverse) {
+        if (CELLS[inverse][CELLS[transform][1]] == 1 && CELLS[inverse][CELLS[transform][3]] == 3)
+          INVERSE[transform] = inverse;
+      }
+    }
+  }
+
+  static int map(int transform, int mask) { return MASKS[transform][mask]; }
+
+  public static int mapCell(int transform, int cell) { return CELLS[transform][cell]; }
+
+  public static @NotNull Board.Position map(int transform, @NotNull Board.Position position) {
+    return POSITIONS[CELLS[transform][position.ordinal()]];
+  }
+
+  public static int inverse(int transform) { return INVERSE[transform]; }
+
+  // Returns the canonical key of the position in the low 16 bits and, above
+  // them, the transform that carries the position to its canonical form.
+  static int canonicalize(int first, int second) {
+    var best = Board.key(first, second);
+    var bestTransform = IDENTITY;
+    for (var transform = 1; transform < COUNT; ++transform) {
+      var key = Board.key(MASKS[transform][first], MASKS[transform][second]);
+      if (key < best) {
+        best = key;
+        bestTransform = transform;
+      }
+    }
+    return (bestTransform << 16) | best;
+  }
+
+  static int key(int canonical) { return canonical & 0xFFFF; }
+
+  static int transform(int canonical) { return canonical >>> 16; }
+
+  public static int canonicalKey(@NotNull Board board) {
+    return key(canonicalize(board.marks(Board.Symbol.NOUGHT), board.marks(Board.Symbol.CROSS)));
+  }
+
+  public static int canonicalTransform(@NotNull Board board) {
+    return transform(canonicalize(board.marks(Board.Symbol.NOUGHT), board.marks(Board.Symbol.CROSS)));
+  }
+}
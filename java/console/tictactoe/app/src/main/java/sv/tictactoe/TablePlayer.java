@@ -0,0 +1,22 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+public class TablePlayer implements Player {
+  private final @NotNull MoveTable table;
+
+  public TablePlayer() { this(MoveTable.instance()); }
+
+  public TablePlayer(@NotNull MoveTable table) { this.table = table; }
+
+  @Override
+  public void makeMove(Board board, Board.Symbol symbol) {
+    var position = table.bestMove(board, symbol);
+    if (position == null) throw new IllegalStateException("The game is already over.");
+    try {
+      board.placeMark(position, symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
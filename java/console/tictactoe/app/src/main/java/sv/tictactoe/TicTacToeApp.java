@@ -1,5 +1,170 @@
 package sv.tictactoe;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
 public class TicTacToeApp {
-  public static void main(String[] args) { Game.make().play(); }
-}
\ No newline at end of file
+  private static void usage() {
+    System.err.println("Usage: tictactoe [--batch] [--board <rows>x<columns>x<line-length>]");
+    System.err.println("       tictactoe [--batch] --ultimate [<computer-playouts>]");
+    System.err.println("       tictactoe --perft [<rows>x<columns>x<line-length>] [<depth>] [--dedup]");
+    System.err.println("       tictactoe --smp [<threads>] [<rows>x<columns>x<line-length>] [<depth>]");
+    System.err.println("       tictactoe --server [<port>]");
+    System.err.println("       tictactoe --analyze <game-log-directory>");
+    System.err.println("       tictactoe --engine [table|search|deepening [<cache-file>]|random]");
+    System.exit(1);
+  }
+
+  private static void serve(int port) {
+    try (var server = new GameServer(port, GameServer.DEFAULT_MAX_CONNECTIONS).start()) {
+      System.out.println("Serving games on port " + server.port() + ".");
+      Thread.currentThread().join();
+    } catch (IOException ex) {
+      System.err.println(ex.getMessage());
+      System.exit(1);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void analyze(@NotNull Path log) {
+    try {
+      var result = new BlunderAnalysis(Runtime.getRuntime().availableProcessors()).run(log);
+      System.out.println("Games: " + result.games() + ", moves: " + result.moves());
+      System.out.println("Games with blunders: " + result.gamesWithBlunders());
+      System.out.println("Blunders by O: " + result.noughtsBlunders() + ", by X: " + result.crossesBlunders());
+      for (var move = 0; move < result.blundersByMove().length; ++move)
+        System.out.println("  move " + (move + 1) + ": " + result.blundersByMove()[move]);
+    } catch (IOException ex) {
+      System.err.println(ex.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private static void engine(@NotNull Player player) {
+    try {
+      new EngineProtocol(player, System.in, System.out).run();
+    } catch (IOException ex) {
+      System.err.println(ex.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private static void perft(@NotNull String @NotNull [] args) {
+    var board = new Board();
+    var depth = Integer.MAX_VALUE;
+    var deduplicate = false;
+    try {
+      for (var arg: args) {
+        if (arg.equals("--dedup")) deduplicate = true;
+        else if (arg.contains("x")) {
+          var dimensions = arg.split("x");
+          if (dimensions.length != 3) usage();
+          board = new Board(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2]));
+        }
+        else depth = Integer.parseInt(arg);
+      }
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      usage();
+    }
+    try (var perft = new Perft(Runtime.getRuntime().availableProcessors())) {
+      var result = perft.count(board, depth, deduplicate);
+      System.out.printf("%4s %16s %16s %14s %14s %14s%n", "ply", "positions", "moves", "O wins", "X wins", "draws");
+      for (var ply = 0; ply < result.positions().length; ++ply) {
+        System.out.printf("%4d %16d %16d %14d %14d %14d%n",
+            ply, result.positions()[ply], result.moves()[ply], result.noughtsWins()[ply], result.crossesWins()[ply], result.draws()[ply]);
+      }
+      System.out.printf("%d positions, %d moves, %d games ended, in %.3f s: %.0f positions/s%n",
+          result.totalPositions(), result.totalMoves(), result.games(), result.nanos() / 1e9, result.positionsPerSecond());
+    }
+  }
+
+  // Times a fixed-depth search from the empty board on one thread and on
+  // several.
+  private static void speedup(@NotNull String @NotNull [] args) {
+    var threads = Runtime.getRuntime().availableProcessors();
+    var board = new Board(4, 4, 3);
+    var depth = 8;
+    try {
+      var numbers = 0;
+      for (var arg: args) {
+        if (arg.contains("x")) {
+          var dimensions = arg.split("x");
+          if (dimensions.length != 3) usage();
+          board = new Board(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2]));
+        }
+        else if (numbers++ == 0) threads = Integer.parseInt(arg);
+        else depth = Integer.parseInt(arg);
+      }
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      usage();
+    }
+    var result = LazySmpPlayer.measureSpeedup(board, Board.Symbol.NOUGHT, threads, depth);
+    System.out.printf("Depth %d on %dx%dx%d:%n", depth, board.rows(), board.columns(), board.winLength());
+    System.out.printf("  1 thread: %.3f s, %d nodes%n", result.singleNanos() / 1e9, result.singleNodes());
+    System.out.printf("  %d threads: %.3f s, %d nodes%n", threads, result.parallelNanos() / 1e9, result.parallelNodes());
+    System.out.printf("  speedup: %.2fx%n", result.speedup());
+  }
+
+  public static void main(String[] args) {
+    if (Metrics.ENABLED) Metrics.register();
+    // Batch mode writes the output of a game all at once when it ends, for
+    // play driven by a script.
+    var batch = args.length > 0 && args[0].equals("--batch");
+    if (batch) args = Arrays.copyOfRange(args, 1, args.length);
+    if (args.length == 0) Game.make(new Board(), batch).play();
+    else if (args.length == 2 && args[0].equals("--board")) {
+      var dimensions = args[1].split("x");
+      if (dimensions.length != 3) usage();
+      try {
+        var board = new Board(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2]));
+        Game.make(board, batch).play();
+      } catch (IllegalArgumentException ex) {
+        System.err.println(ex.getMessage());
+        usage();
+      }
+    }
+    else if (args[0].equals("--ultimate") && args.length <= 2) {
+      try {
+        UltimateGame.make(batch, (args.length == 2)? Integer.parseInt(args[1]) : 0).play();
+      } catch (NumberFormatException ex) {
+        usage();
+      }
+    }
+    else if (batch) usage();
+    else if (args[0].equals("--server") && args.length <= 2) {
+      try {
+        serve((args.length == 2)? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT);
+      } catch (NumberFormatException ex) {
+        usage();
+      }
+    }
+    else if (args[0].equals("--smp")) speedup(Arrays.copyOfRange(args, 1, args.length));
+    else if (args[0].equals("--perft")) perft(Arrays.copyOfRange(args, 1, args.length));
+    else if (args[0].equals("--analyze") && args.length == 2) analyze(Path.of(args[1]));
+    else if (args[0].equals("--engine") && args.length == 3 && args[1].equals("deepening")) {
+      // The cache file keeps what each session learns for the next.
+      try (var cache = new EvaluationCache(1 << 20, Path.of(args[2]), 1 << 24)) {
+        engine(new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(1)), cache));
+      } catch (IOException ex) {
+        System.err.println(ex.getMessage());
+        System.exit(1);
+      }
+    }
+    else if (args[0].equals("--engine") && args.length <= 2) {
+      var name = (args.length == 2)? args[1] : "table";
+      if (name.equals("table")) engine(new TablePlayer());
+      else if (name.equals("search")) engine(new ComputerPlayer());
+      else if (name.equals("deepening")) engine(new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(1))));
+      else if (name.equals("random")) engine(new RandomPlayer());
+      else usage();
+    }
+    else usage();
+  }
+}
@@ -0,0 +1,37 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+// The time a player may take over its moves: at most perMove for any one
+// move, and at most perGame for all of its moves in a game, shared out
+// evenly among the moves it can still expect to make.
+public class TimeControl {
+  public static final @NotNull Duration UNLIMITED = Duration.ofNanos(Long.MAX_VALUE);
+
+  private final long perMoveNanos, perGameNanos;
+  private long usedNanos;
+
+  public TimeControl(@NotNull Duration perMove, @NotNull Duration perGame) {
+    if (perMove.isNegative() || perMove.isZero()) throw new IllegalArgumentException("The time per move must be positive.");
+    if (perGame.isNegative() || perGame.isZero()) throw new IllegalArgumentException("The time per game must be positive.");
+    this.perMoveNanos = perMove.toNanos();
+    this.perGameNanos = perGame.toNanos();
+  }
+
+  public static @NotNull TimeControl perMove(@NotNull Duration perMove) { return new TimeControl(perMove, UNLIMITED); }
+
+  public void newGame() { usedNanos = 0; }
+
+  public @NotNull Duration remaining() { return Duration.ofNanos(Math.max(0, perGameNanos - usedNanos)); }
+
+  // The time allowed for the next move, when movesLeft moves remain to be
+  // made in the game, counting the next.
+  public long budgetNanos(int movesLeft) {
+    var remaining = Math.max(0, perGameNanos - usedNanos);
+    return Math.min(perMoveNanos, remaining / Math.max(1, movesLeft));
+  }
+
+  public void charge(long nanos) { usedNanos += nanos; }
+}
@@ -0,0 +1,10 @@
+package sv.tictactoe;
+
+// Search results by position hash, as IterativeDeepeningPlayer keeps them.
+// Entries are packed as EvaluationCache.pack packs them; probe returns zero
+// for a position it has no entry for.
+public interface TranspositionTable {
+  long probe(long key);
+
+  void store(long key, int value, int depth, int bound, int move);
+}
@@ -0,0 +1,165 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// Ultimate tic-tac-toe: nine 3x3 Boards laid out as the cells of a 3x3
+// meta-board. A move is made on one of the small boards, and the cell it
+// is made in sends the opponent to the small board in the matching place;
+// if that board is already won or full, the opponent may play in any open
+// board. Winning a small board marks its cell on the meta-board, and three
+// in a row there wins the game.
+//
+// Moves are numbered from 0 to 80 as board * 9 + cell, each counting in
+// Position order. Beyond the Boards themselves, the state a search needs is
+// packed into ints: the 9-bit mask of open boards and the board to play
+// in. The move generator reads each open board's free-cell mask, and moves
+// are made and unmade in place, so a search allocates nothing.
+public class UltimateBoard {
+  public static final int MOVES = 81;
+  // The next move may be made in any open board.
+  public static final int ANY = -1;
+  private static final @NotNull GameAnalytics ANALYTICS = new GameAnalytics();
+  private static final @NotNull Board.Position @NotNull [] POSITIONS = Board.Position.values();
+  private static final @NotNull String LINE_SEPARATOR = System.lineSeparator();
+
+  private final @NotNull Board @NotNull [] boards = new Board[9];
+  private final @NotNull Board meta = new Board();
+  private int open = Board.FULL;
+  private int next = ANY;
+  // For each move made: the move, the board the mover was sent to, and
+  // whether it closed its board (bit 0) and won it (bit 1).
+  private final int @NotNull [] moves = new int[MOVES], sentTo = new int[MOVES], closed = new int[MOVES];
+  private int moveCount;
+
+  public UltimateBoard() {
+    for (var board = 0; board < boards.length; ++board) boards[board] = new Board();
+  }
+
+  public void reset() {
+    for (var board: boards) board.reset();
+    meta.reset();
+    open = Board.FULL;
+    next = ANY;
+    moveCount = 0;
+  }
+
+  public @NotNull Board board(int index) { return boards[index]; }
+
+  public @NotNull Board meta() { return meta; }
+
+  // The board the next move must be made in, or ANY.
+  public int nextBoard() { return next; }
+
+  public int moveCount() { return moveCount; }
+
+  public int move(int ply) {
+    if (ply < 0 || ply >= moveCount) throw new IndexOutOfBoundsException("Move " + ply + " has not been made.");
+    return moves[ply];
+  }
+
+  public Board.Symbol winner() { return ANALYTICS.winner(meta); }
+
+  public boolean isGameOver() { return meta.winner() != null || open == 0; }
+
+  public boolean isDraw() { return meta.winner() == null && open == 0; }
+
+  public boolean isOpen(int board) { return (open & (1 << board)) != 0; }
+
+  public boolean isLegal(int move) {
+    if (move < 0 || move >= MOVES || isGameOver()) return false;
+    int board = move / 9, cell = move % 9;
+    return isOpen(board) && (next == ANY || next == board) && boards[board].isEmpty(cell);
+  }
+
+  // Fills moves with the legal moves, in order, and returns how many there
+  // are; moves must have room for MOVES.
+  public int moves(int @NotNull [] moves) {
+    if (isGameOver()) return 0;
+    var count = 0;
+    for (var boards = (next == ANY)? open : 1 << next; boards != 0; boards &= boards - 1) {
+      var board = Integer.numberOfTrailingZeros(boards);
+      for (var free = this.boards[board].free(); free != 0; free &= free - 1)
+        moves[count++] = board * 9 + Integer.numberOfTrailingZeros(free);
+    }
+    return count;
+  }
+
+  private void mark(int move, @NotNull Board.Symbol symbol) {
+    int index = move / 9, cell = move % 9;
+    var board = boards[index];
+    try {
+      board.placeMark(cell, symbol);
+      moves[moveCount] = move;
+      sentTo[moveCount] = next;
+      closed[moveCount] = 0;
+      if (ANALYTICS.isGameOver(board)) {
+        open &= ~(1 << index);
+        closed[moveCount] = 1;
+        var winner = ANALYTICS.winner(board);
+        if (winner != null) {
+          meta.placeMark(index, winner);
+          closed[moveCount] |= 2;
+        }
+      }
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+    ++moveCount;
+    next = isOpen(cell)? cell : ANY;
+  }
+
+  public void placeMark(int move, @NotNull Board.Symbol symbol) throws Board.InvalidPositionException {
+    if (isGameOver()) throw new Board.InvalidPositionException("The game is already over.");
+    if (!isLegal(move)) throw new Board.InvalidPositionException("'" + label(move) + "' " + " is not a valid move.");
+    mark(move, symbol);
+  }
+
+  // Takes back the last move, returning it.
+  public int unmakeMark() {
+    if (moveCount == 0) throw new IllegalStateException("There is no move to take back.");
+    var move = moves[--moveCount];
+    var index = move / 9;
+    if ((closed[moveCount] & 2) != 0) meta.unmakeMark();
+    if ((closed[moveCount] & 1) != 0) open |= 1 << index;
+    boards[index].unmakeMark();
+    next = sentTo[moveCount];
+    return move;
+  }
+
+  public static @NotNull String label(int move) {
+    if (move < 0 || move >= MOVES) return Integer.toString(move);
+    return POSITIONS[move / 9].label + " " + POSITIONS[move % 9].label;
+  }
+
+  // Reads a move as a board and a cell, such as "top-left middle" or "1 5".
+  // When the board to play in is fixed, the cell alone will do.
+  public int parseMove(@NotNull String input) throws Board.InvalidPositionException {
+    var parts = input.trim().split("[\\s/]+");
+    int board, cell;
+    if (parts.length == 1 && next != ANY) {
+      board = next;
+      cell = Board.Position.parse(parts[0], POSITIONS).ordinal();
+    } else if (parts.length == 2) {
+      board = Board.Position.parse(parts[0], POSITIONS).ordinal();
+      cell = Board.Position.parse(parts[1], POSITIONS).ordinal();
+    } else throw new Board.InvalidPositionException("'" + input + "' " + " is not a valid move.");
+    var move = board * 9 + cell;
+    if (!isLegal(move)) throw new Board.InvalidPositionException("'" + input + "' " + " is not a valid move.");
+    return move;
+  }
+
+  @Override
+  public @NotNull String toString() {
+    var buffer = new StringBuilder(MOVES * 2 + 11 * (22 + LINE_SEPARATOR.length()));
+    for (var row = 0; row < 9; ++row) {
+      if (row > 0 && row % 3 == 0) buffer.append("------+-------+------").append(LINE_SEPARATOR);
+      for (var column = 0; column < 9; ++column) {
+        if (column > 0) buffer.append((column % 3 == 0)? " | " : " ");
+        var mark = boards[(row / 3) * 3 + column / 3].getMark((row % 3) * 3 + column % 3);
+        buffer.append((mark == null)? "_" : mark.label);
+      }
+      if (row < 8) buffer.append(LINE_SEPARATOR);
+    }
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,52 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// A game of ultimate tic-tac-toe, played out on the calling thread. Each
+// player in turn chooses a move, which the game makes; a move the board
+// will not take is reported, and the same player is asked again.
+public class UltimateGame {
+  private final @NotNull UltimateBoard board;
+  private final @NotNull UltimatePlayer noughts, crosses;
+  private final @NotNull GameAnnouncer io;
+  private GameIO.AbnormalTerminationException termination;
+
+  public UltimateGame(@NotNull UltimatePlayer noughts, @NotNull UltimatePlayer crosses, @NotNull UltimateBoard board, @NotNull GameAnnouncer io) {
+    this.board = board;
+    this.noughts = noughts;
+    this.crosses = crosses;
+    this.io = io;
+  }
+
+  public @NotNull UltimateBoard board() { return board; }
+
+  // How the last game was cut short, or null if it was played out.
+  public GameIO.AbnormalTerminationException termination() { return termination; }
+
+  public void play() {
+    termination = null;
+    var symbol = (board.moveCount() % 2 == 0)? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
+    try {
+      while (!board.isGameOver()) {
+        var move = ((symbol == Board.Symbol.NOUGHT)? noughts : crosses).chooseMove(board, symbol);
+        try {
+          board.placeMark(move, symbol);
+          symbol = symbol.other();
+        } catch (Board.InvalidPositionException ex) { io.systemError(ex.getMessage()); }
+      }
+    } catch (GameIO.AbnormalTerminationException ex) {
+      termination = ex;
+      io.declareUltimateResult(board, symbol, ex);
+      return;
+    }
+    io.declareUltimateResult(board, board.winner(), null);
+  }
+
+  // A game on the console, with crosses played by the computer if
+  // playouts is positive and by a second person otherwise.
+  public static @NotNull UltimateGame make(boolean batch, int playouts) {
+    var io = Metrics.instrument(new ConsoleGameIO(System.in, System.out, batch));
+    var crosses = (playouts > 0)? new UltimatePlayoutPlayer(playouts, System.nanoTime()) : UltimatePlayer.human(io);
+    return new UltimateGame(UltimatePlayer.human(io), crosses, new UltimateBoard(), io);
+  }
+}
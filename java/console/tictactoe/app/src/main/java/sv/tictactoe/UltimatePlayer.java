@@ -0,0 +1,18 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+// A player of ultimate tic-tac-toe. It answers with the move it chooses,
+// leaving the board as it is; the game makes the move.
+public interface UltimatePlayer {
+  int chooseMove(@NotNull UltimateBoard board, @NotNull Board.Symbol symbol) throws GameIO.AbnormalTerminationException;
+
+  static @NotNull UltimatePlayer human(@NotNull GameIO io) { return (board, symbol) -> io.getUltimateMove(board); }
+
+  static @NotNull UltimatePlayer random(@NotNull SplittableRandom random) {
+    var moves = new int[UltimateBoard.MOVES];
+    return (board, symbol) -> moves[random.nextInt(board.moves(moves))];
+  }
+}
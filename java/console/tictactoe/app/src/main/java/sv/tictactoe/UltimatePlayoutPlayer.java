@@ -0,0 +1,63 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+// A search-based ultimate tic-tac-toe player: it plays a number of random
+// games out from each legal move and chooses the move that scored best.
+// The playouts run on a board of its own, made and unmade in place, so a
+// move costs no allocation however many playouts it takes.
+public class UltimatePlayoutPlayer implements UltimatePlayer {
+  private final int playouts;
+  private final @NotNull SplittableRandom random;
+  private final @NotNull UltimateBoard search = new UltimateBoard();
+  private final int @NotNull [] roots = new int[UltimateBoard.MOVES], moves = new int[UltimateBoard.MOVES];
+
+  // playouts is the number of games played out from each legal move.
+  public UltimatePlayoutPlayer(int playouts, long seed) {
+    if (playouts < 1) throw new IllegalArgumentException("A move needs at least one playout.");
+    this.playouts = playouts;
+    this.random = new SplittableRandom(seed);
+  }
+
+  private static void play(@NotNull UltimateBoard board, int move, @NotNull Board.Symbol symbol) {
+    try {
+      board.placeMark(move, symbol);
+    } catch (Board.InvalidPositionException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  // Plays the game out at random and scores it for symbol: 2 for a win, 1
+  // for a draw, 0 for a loss. The board is left as it was found.
+  private int playout(@NotNull Board.Symbol symbol, @NotNull Board.Symbol toMove) {
+    var start = search.moveCount();
+    for (var mover = toMove; !search.isGameOver(); mover = mover.other())
+      play(search, moves[random.nextInt(search.moves(moves))], mover);
+    var winner = search.winner();
+    while (search.moveCount() > start) search.unmakeMark();
+    return (winner == null)? 1 : (winner == symbol)? 2 : 0;
+  }
+
+  @Override
+  public int chooseMove(@NotNull UltimateBoard board, @NotNull Board.Symbol symbol) {
+    if (board.isGameOver()) throw new IllegalStateException("The game is already over.");
+    search.reset();
+    for (var ply = 0; ply < board.moveCount(); ++ply)
+      play(search, board.move(ply), (ply % 2 == 0)? Board.Symbol.NOUGHT : Board.Symbol.CROSS);
+    var count = search.moves(roots);
+    int best = roots[0], bestScore = -1;
+    for (var index = 0; index < count; ++index) {
+      play(search, roots[index], symbol);
+      var score = 0;
+      for (var playout = 0; playout < playouts; ++playout) score += playout(symbol, symbol.other());
+      search.unmakeMark();
+      if (score > bestScore) {
+        best = roots[index];
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,71 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncGameRunnerTest {
+  private static final AsyncPlayer RANDOM = (board, symbol) -> CompletableFuture.completedFuture(
+      board.emptyCell(ThreadLocalRandom.current().nextInt(board.cellCount() - board.moveCount())));
+
+  @Test void drivesManyInterleavedGamesOnTwoThreads() throws Exception {
+    var games = 100_000;
+    try (var runner = new AsyncGameRunner(2)) {
+      var futures = new ArrayList<CompletableFuture<GameState>>(games);
+      for (var game = 0; game < games; ++game) futures.add(runner.play(new GameState(new Board()), RANDOM, RANDOM));
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+      var outcomes = new int[GameState.Outcome.values().length];
+      for (var future: futures) {
+        var state = future.get();
+        assertTrue(state.isOver());
+        ++outcomes[state.outcome().ordinal()];
+      }
+      assertEquals(0, outcomes[GameState.Outcome.ABANDONED.ordinal()]);
+      // Random noughts win most often.
+      assertTrue(outcomes[GameState.Outcome.NOUGHTS_WON.ordinal()] > outcomes[GameState.Outcome.CROSSES_WON.ordinal()]);
+    }
+  }
+
+  @Test void waitsForSlowPlayersWithoutBlocking() throws Exception {
+    var scheduler = Executors.newSingleThreadScheduledExecutor();
+    // Crosses take their time over every move, answering from another thread.
+    AsyncPlayer slow = (board, symbol) -> {
+      var cell = board.emptyCell(0);
+      var future = new CompletableFuture<Integer>();
+      scheduler.schedule(() -> future.complete(cell), 5, TimeUnit.MILLISECONDS);
+      return future;
+    };
+    try (var runner = new AsyncGameRunner(1)) {
+      var slowGame = runner.play(new GameState(new Board()), RANDOM, slow);
+      var fastGame = runner.play(new GameState(new Board()), AsyncPlayer.of(new TablePlayer(), Runnable::run), AsyncPlayer.of(new TablePlayer(), Runnable::run));
+      assertEquals(GameState.Outcome.DRAW, fastGame.get(10, TimeUnit.SECONDS).outcome());
+      assertTrue(slowGame.get(10, TimeUnit.SECONDS).isOver());
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test void forfeitsIllegalMovesAndPassesOnResignations() throws Exception {
+    AsyncPlayer occupied = (board, symbol) -> CompletableFuture.completedFuture(board.moveCount() > 0? board.move(0) : 4);
+    AsyncPlayer resigns = (board, symbol) -> CompletableFuture.failedFuture(new GameIO.PlayerResignedException());
+    AsyncPlayer broken = (board, symbol) -> CompletableFuture.failedFuture(new IllegalStateException("broken"));
+    try (var runner = new AsyncGameRunner(1)) {
+      var state = runner.play(new GameState(new Board()), occupied, occupied).get(10, TimeUnit.SECONDS);
+      assertEquals(GameState.Outcome.ABANDONED, state.outcome());
+      assertEquals(Board.Symbol.CROSS, state.toMove());
+      assertInstanceOf(GameIO.IllegalMoveException.class, state.termination());
+      state = runner.play(new GameState(new Board()), resigns, occupied).get(10, TimeUnit.SECONDS);
+      assertInstanceOf(GameIO.PlayerResignedException.class, state.termination());
+      var failed = runner.play(new GameState(new Board()), broken, broken);
+      var ex = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+      assertEquals("broken", ex.getCause().getMessage());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchAnalyticsTest {
+  // Positions from random games, stopped at random points, and the boards
+  // they were packed from.
+  private static int[] positions(int count, ArrayList<Board> boards) {
+    var random = new SplittableRandom(17);
+    var analytics = new GameAnalytics();
+    var packed = new int[count];
+    for (var index = 0; index < count; ++index) {
+      var board = new Board();
+      var player = new RandomPlayer(random.split());
+      var moves = random.nextInt(10);
+      var symbol = Board.Symbol.NOUGHT;
+      for (var move = 0; move < moves && !analytics.isGameOver(board); ++move) {
+        player.makeMove(board, symbol);
+        symbol = symbol.other();
+      }
+      packed[index] = board.pack();
+      boards.add(board);
+    }
+    return packed;
+  }
+
+  @Test void agreesWithGameAnalytics() {
+    var boards = new ArrayList<Board>();
+    // An odd count leaves a tail after the last full vector.
+    var packed = positions(10_007, boards);
+    var results = BatchAnalytics.evaluate(packed);
+    var scalar = new int[packed.length];
+    BatchAnalytics.evaluateScalar(packed, scalar, 0, packed.length);
+    assertArrayEquals(scalar, results);
+    var analytics = new GameAnalytics();
+    var finished = 0;
+    for (var index = 0; index < packed.length; ++index) {
+      var board = boards.get(index);
+      assertEquals(analytics.winner(board), BatchAnalytics.winner(results[index]));
+      assertEquals(analytics.isDraw(board), BatchAnalytics.isDraw(results[index]));
+      assertEquals(analytics.isGameOver(board), BatchAnalytics.isGameOver(results[index]));
+      if (BatchAnalytics.isGameOver(results[index])) ++finished;
+    }
+    assertTrue(finished > 0 && finished < packed.length);
+  }
+
+  @Test void evaluatesInPlace() {
+    var packed = positions(1000, new ArrayList<>());
+    var expected = BatchAnalytics.evaluate(packed);
+    BatchAnalytics.evaluate(packed, packed, 999);
+    for (var index = 0; index < 999; ++index) assertEquals(expected[index], packed[index]);
+    assertThrows(IndexOutOfBoundsException.class, () -> BatchAnalytics.evaluate(packed, new int[10], 11));
+  }
+
+  // The vectorTest task runs these tests with the module added, and the
+  // default test task without.
+  @Test void usesTheVectorApiWhenItIsPresent() {
+    assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), BatchAnalytics.VECTORIZED);
+  }
+}
@@ -0,0 +1,86 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sv.tictactoe.Board.Position;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlunderAnalysisTest {
+  @TempDir Path directory;
+
+  private static long record(Position... moves) throws Board.InvalidPositionException {
+    var board = new Board();
+    var symbol = Board.Symbol.NOUGHT;
+    for (var move: moves) {
+      board.placeMark(move, symbol);
+      symbol = symbol.other();
+    }
+    return GameRecord.encode(board);
+  }
+
+  @Test void findBlunders() throws IOException, Board.InvalidPositionException {
+    // Crosses answer a centre opening on an edge and lose; every other move
+    // is sound.
+    var edgeReply = record(
+        Position.MIDDLE, Position.TOP_MIDDLE, Position.TOP_LEFT, Position.BOTTOM_RIGHT,
+        Position.BOTTOM_LEFT, Position.TOP_RIGHT, Position.MIDDLE_LEFT);
+    // Noughts leave the left column open on the fifth move, throwing away a
+    // draw, and crosses win there on the sixth.
+    var missedBlock = record(
+        Position.MIDDLE, Position.TOP_LEFT, Position.TOP_RIGHT, Position.BOTTOM_LEFT,
+        Position.BOTTOM_RIGHT, Position.MIDDLE_LEFT);
+    try (var log = new GameLog(directory, 64)) {
+      for (var game = 0; game < 1000; ++game) log.append((game % 2 == 0)? edgeReply : missedBlock);
+    }
+    var perGame = new AtomicLong();
+    var result = new BlunderAnalysis(3, 16, MoveTable.instance()).run(directory, (record, blunders, firstBlunder) -> {
+      perGame.addAndGet(blunders);
+      assertEquals(1, blunders);
+      assertEquals((record == edgeReply)? 1 : 4, firstBlunder);
+    });
+    assertEquals(1000, result.games());
+    assertEquals(500 * 7 + 500 * 6, result.moves());
+    assertEquals(result.blunders(), perGame.get());
+    assertEquals(1000, result.gamesWithBlunders());
+    assertEquals(500, result.blundersByMove()[1]);
+    assertEquals(500, result.blundersByMove()[4]);
+    assertEquals(500, result.crossesBlunders());
+    assertEquals(500, result.noughtsBlunders());
+  }
+
+  // A record can hold moves after a win, though no game could; they are
+  // neither counted nor judged.
+  @Test void stopsAtTheWin() throws IOException, Board.InvalidPositionException {
+    var overrun = record(
+        Position.MIDDLE, Position.TOP_LEFT, Position.TOP_RIGHT, Position.BOTTOM_LEFT,
+        Position.BOTTOM_RIGHT, Position.MIDDLE_LEFT, Position.BOTTOM_MIDDLE);
+    assertEquals(7, GameRecord.moves(overrun));
+    try (var log = new GameLog(directory, 64)) {
+      log.append(overrun);
+    }
+    var result = new BlunderAnalysis(1).run(directory);
+    assertEquals(1, result.games());
+    assertEquals(6, result.moves());
+    assertEquals(1, result.noughtsBlunders());
+    assertEquals(0, result.crossesBlunders());
+  }
+
+  @Test void perfectGamesHaveNoBlunders() throws IOException {
+    try (var log = new GameLog(directory)) {
+      var pool = new GamePool(Board::new, () -> new RecordingGameIO(new HeadlessGameIO(), log));
+      for (var game = 0; game < 50; ++game) {
+        var played = pool.acquire(new TablePlayer(), new ComputerPlayer());
+        played.play();
+        pool.release(played);
+      }
+    }
+    var result = new BlunderAnalysis(2).run(directory);
+    assertEquals(50, result.games());
+    assertEquals(0, result.blunders());
+  }
+}
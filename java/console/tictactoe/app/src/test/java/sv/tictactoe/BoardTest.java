@@ -155,6 +155,26 @@ public class BoardTest {
     assertFalse(board.isFull());
   }
 
+  @Test void trackWinnerAndMoveCount() throws Board.InvalidPositionException {
+    var board = new Board();
+    assertEquals(0, board.moveCount());
+    assertNull(board.winner());
+    board.placeMark(Position.TOP_LEFT, Board.Symbol.CROSS);
+    board.placeMark(Position.MIDDLE, Board.Symbol.NOUGHT);
+    board.placeMark(Position.TOP_MIDDLE, Board.Symbol.CROSS);
+    board.placeMark(Position.BOTTOM_LEFT, Board.Symbol.NOUGHT);
+    assertEquals(4, board.moveCount());
+    assertNull(board.winner());
+    board.placeMark(Position.TOP_RIGHT, Board.Symbol.CROSS);
+    assertEquals(5, board.moveCount());
+    assertEquals(Board.Symbol.CROSS, board.winner());
+
+    // A later line for the other symbol does not displace the first winner.
+    board.placeMark(Position.BOTTOM_MIDDLE, Board.Symbol.NOUGHT);
+    board.placeMark(Position.BOTTOM_RIGHT, Board.Symbol.NOUGHT);
+    assertEquals(Board.Symbol.CROSS, board.winner());
+  }
+
   @Test void checkToString() throws Board.InvalidPositionException {
     var lineSeparator = System.getProperty("line.separator");
     var board = new Board();
@@ -179,4 +199,122 @@ public class BoardTest {
     actual = board.toString();
     assertEquals(expected, actual);
   }
+
+  @Test void detectWinsOnLargerBoards() throws Board.InvalidPositionException {
+    var board = new Board(15, 15, 5);
+    assertFalse(board.isStandard());
+    assertEquals(225, board.cellCount());
+    // Four crosses on the secondary diagonal through h8, then the fifth in the middle.
+    int[][] cells = { { 5, 9 }, { 6, 8 }, { 8, 6 }, { 9, 5 } };
+    for (var cell: cells) board.placeMark(board.cell(cell[0], cell[1]), Board.Symbol.CROSS);
+    board.placeMark(board.cell(0, 0), Board.Symbol.NOUGHT);
+    assertNull(board.winner());
+    board.placeMark(board.cell(7, 7), Board.Symbol.CROSS);
+    assertEquals(Board.Symbol.CROSS, board.winner());
+    assertTrue(board.hasLine(Board.Symbol.CROSS));
+    assertFalse(board.hasLine(Board.Symbol.NOUGHT));
+
+    // Lines do not wrap around the edge of the board.
+    board = new Board(7, 7, 4);
+    board.placeMark(board.cell(0, 5), Board.Symbol.NOUGHT);
+    board.placeMark(board.cell(0, 6), Board.Symbol.NOUGHT);
+    board.placeMark(board.cell(1, 0), Board.Symbol.NOUGHT);
+    board.placeMark(board.cell(1, 1), Board.Symbol.NOUGHT);
+    assertNull(board.winner());
+    board.placeMark(board.cell(1, 2), Board.Symbol.NOUGHT);
+    assertNull(board.winner());
+    board.placeMark(board.cell(1, 3), Board.Symbol.NOUGHT);
+    assertEquals(Board.Symbol.NOUGHT, board.winner());
+  }
+
+  @Test void listAndNameCellsOnLargerBoards() throws Board.InvalidPositionException {
+    var board = new Board(4, 4, 4);
+    assertEquals(16, board.allowedCells().length);
+    board.placeMark(board.parseCell("b3"), Board.Symbol.NOUGHT);
+    assertEquals(Board.Symbol.NOUGHT, board.getMark(board.cell(2, 1)));
+    assertEquals("b3", board.label(board.cell(2, 1)));
+    var cells = board.allowedCells();
+    assertEquals(15, cells.length);
+    for (var cell: cells) assertNotEquals(board.cell(2, 1), cell);
+    assertThrows(Board.InvalidPositionException.class, () -> board.parseCell("e1"));
+    assertThrows(Board.InvalidPositionException.class, () -> board.placeMark(board.cell(2, 1), Board.Symbol.CROSS));
+    assertThrows(IllegalStateException.class, board::allowedPositions);
+
+    var lineSeparator = System.getProperty("line.separator");
+    assertEquals("_ _ _ _" + lineSeparator + "_ _ _ _" + lineSeparator + "_ O _ _" + lineSeparator + "_ _ _ _", board.toString());
+  }
+
+  @Test void spanMultipleWords() throws Board.InvalidPositionException {
+    var board = new Board(9, 9, 9);
+    for (var column = 0; column < 9; ++column) board.placeMark(board.cell(7, column), Board.Symbol.CROSS);
+    assertEquals(Board.Symbol.CROSS, board.winner());
+    assertEquals(72, board.allowedCells().length);
+    assertEquals(Board.Symbol.CROSS, board.getMark(board.cell(7, 8)));
+  }
+
+  @Test void unmakeRestoresTheBoardAndItsHash() throws Board.InvalidPositionException {
+    var board = new Board(5, 5, 3);
+    var empty = board.hash();
+    board.placeMark(board.cell(0, 0), Board.Symbol.NOUGHT);
+    var afterOne = board.hash();
+    board.placeMark(board.cell(2, 2), Board.Symbol.CROSS);
+    board.placeMark(board.cell(0, 1), Board.Symbol.NOUGHT);
+    board.placeMark(board.cell(3, 3), Board.Symbol.CROSS);
+    board.placeMark(board.cell(0, 2), Board.Symbol.NOUGHT);
+    assertEquals(Board.Symbol.NOUGHT, board.winner());
+    assertEquals(board.cell(0, 2), board.unmakeMark());
+    assertNull(board.winner());
+    assertTrue(board.isEmpty(board.cell(0, 2)));
+    board.unmakeMark();
+    board.unmakeMark();
+    board.unmakeMark();
+    assertEquals(afterOne, board.hash());
+    assertEquals(1, board.moveCount());
+    board.unmakeMark();
+    assertEquals(empty, board.hash());
+    assertThrows(IllegalStateException.class, board::unmakeMark);
+  }
+
+  @Test void hashesTranspositionsAlike() throws Board.InvalidPositionException {
+    var first = new Board();
+    first.placeMark(0, Board.Symbol.NOUGHT);
+    first.placeMark(4, Board.Symbol.CROSS);
+    first.placeMark(8, Board.Symbol.NOUGHT);
+    var second = new Board();
+    second.placeMark(8, Board.Symbol.NOUGHT);
+    second.placeMark(4, Board.Symbol.CROSS);
+    second.placeMark(0, Board.Symbol.NOUGHT);
+    assertEquals(first.hash(), second.hash());
+    var swapped = new Board();
+    swapped.placeMark(0, Board.Symbol.CROSS);
+    swapped.placeMark(4, Board.Symbol.NOUGHT);
+    swapped.placeMark(8, Board.Symbol.CROSS);
+    assertNotEquals(first.hash(), swapped.hash());
+    // Boards of different sizes hash apart even with the same cells marked.
+    assertNotEquals(new Board().hash(), new Board(3, 3, 2).hash());
+    var copy = new Board();
+    copy.copyFrom(first);
+    assertEquals(first.hash(), copy.hash());
+    copy.reset();
+    assertEquals(new Board().hash(), copy.hash());
+  }
+
+  @Test void copiesTheMapItIsBuiltFrom() {
+    var cells = new HashMap<Position, Board.Symbol>();
+    cells.put(Position.MIDDLE, Board.Symbol.NOUGHT);
+    var board = new Board(cells);
+    cells.put(Position.TOP_LEFT, Board.Symbol.CROSS);
+    assertNull(board.getMark(Position.TOP_LEFT));
+    assertEquals(1, board.moveCount());
+  }
+
+  @Test void pack() throws Board.InvalidPositionException {
+    var board = new Board();
+    assertEquals(0, board.pack());
+    board.placeMark(Position.TOP_LEFT, Board.Symbol.NOUGHT);
+    board.placeMark(Position.MIDDLE, Board.Symbol.CROSS);
+    board.placeMark(Position.BOTTOM_RIGHT, Board.Symbol.NOUGHT);
+    assertEquals(1 | 1 << 8 | 1 << (9 + 4), board.pack());
+    assertThrows(IllegalStateException.class, () -> new Board(4, 4, 3).pack());
+  }
 }
@@ -0,0 +1,179 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BroadcastTest {
+  private static String text(ByteBuffer update) {
+    var bytes = new byte[update.remaining()];
+    update.get(bytes);
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+
+  private static void waitFor(Broadcast broadcast, long deliveries) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    while (broadcast.delivered() < deliveries && System.nanoTime() < deadline) Thread.sleep(5);
+    assertEquals(deliveries, broadcast.delivered());
+  }
+
+  @Test void publishesAGameToItsSpectators() throws Board.InvalidPositionException, InterruptedException {
+    try (var broadcast = new Broadcast()) {
+      List<String> lines = Collections.synchronizedList(new ArrayList<>());
+      broadcast.subscribe(update -> {
+        assertTrue(update.isReadOnly());
+        lines.add(text(update));
+      });
+      var state = new GameState(new Board());
+      state.broadcastTo(broadcast);
+      state.restart();
+      state.submit(4);
+      state.submit(0);
+      state.abandon(new GameIO.PlayerResignedException());
+      waitFor(broadcast, 4);
+      assertEquals(List.of(
+          "newgame 3x3x3\n",
+          "move 1 O middle IN_PROGRESS\n",
+          "move 2 X top-left IN_PROGRESS\n",
+          "abandoned O resigned\n"), lines);
+    }
+  }
+
+  // A game taken up mid-way has noughts to move whatever the ply.
+  @Test void namesTheSymbolThatMoved() throws Board.InvalidPositionException, InterruptedException {
+    try (var broadcast = new Broadcast()) {
+      List<String> lines = Collections.synchronizedList(new ArrayList<>());
+      broadcast.subscribe(update -> lines.add(text(update)));
+      var board = new Board();
+      board.placeMark(0, Board.Symbol.CROSS);
+      var state = new GameState(board);
+      state.broadcastTo(broadcast);
+      state.submit(4);
+      waitFor(broadcast, 1);
+      assertEquals(List.of("move 2 O middle IN_PROGRESS\n"), lines);
+    }
+  }
+
+  @Test void servesAHundredThousandSpectators() throws InterruptedException {
+    var spectators = 100_000;
+    try (var broadcast = new Broadcast()) {
+      var received = new AtomicInteger();
+      var last = new ByteBuffer[1];
+      for (var index = 0; index < spectators; ++index) {
+        broadcast.subscribe(update -> {
+          received.incrementAndGet();
+          last[0] = update;
+        });
+      }
+      var game = new Game(new GameAnalytics(), new RandomPlayer(1), new RandomPlayer(2), new Board(), new HeadlessGameIO());
+      game.state().broadcastTo(broadcast);
+      game.play();
+      var updates = 1 + game.board().moveCount();
+      assertEquals(updates, broadcast.published());
+      waitFor(broadcast, (long) updates * spectators);
+      assertEquals(updates * spectators, received.get());
+      assertEquals(0, broadcast.dropped());
+      assertTrue(text(last[0]).startsWith("move " + game.board().moveCount() + " "));
+    }
+  }
+
+  @Test void dropsSpectatorsThatFallBehind() throws InterruptedException {
+    var pool = Executors.newFixedThreadPool(2);
+    try (var broadcast = new Broadcast(pool, 4)) {
+      var release = new CountDownLatch(1);
+      var dropped = new CountDownLatch(1);
+      var slow = broadcast.subscribe(new Spectator() {
+        @Override public void update(ByteBuffer update) {
+          try {
+            release.await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        }
+
+        @Override public void dropped() { dropped.countDown(); }
+      });
+      var received = new AtomicInteger();
+      var fast = broadcast.subscribe(update -> received.incrementAndGet());
+      var failing = broadcast.subscribe(update -> { throw new IllegalStateException("broken"); });
+      // The fast spectator keeps up with each update before the next; the
+      // slow one is stuck on its first.
+      var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      for (var update = 0; update < 10; ++update) {
+        broadcast.publish("update " + update);
+        while (received.get() <= update && System.nanoTime() < deadline) Thread.sleep(1);
+      }
+      assertTrue(dropped.await(10, TimeUnit.SECONDS));
+      release.countDown();
+      assertTrue(slow.isDropped());
+      assertFalse(fast.isDropped());
+      assertEquals(10, received.get());
+      assertTrue(failing.isDropped());
+      assertEquals(2, broadcast.dropped());
+      assertEquals(1, broadcast.subscribers());
+      fast.close();
+      broadcast.publish("after");
+      assertEquals(0, broadcast.subscribers());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // The only thread of the pool is stuck in a spectator that ignores being
+  // interrupted; another stands in for it once it is timed out, though no
+  // update comes after.
+  @Test void dropsSpectatorsStuckInAnUpdate() throws InterruptedException {
+    try (var broadcast = new Broadcast(1, 16, Duration.ofMillis(50))) {
+      var entered = new CountDownLatch(1);
+      var release = new CountDownLatch(1);
+      var interrupted = new AtomicBoolean();
+      var droppedOn = new AtomicReference<Thread>();
+      var dropped = new CountDownLatch(1);
+      var stuck = broadcast.subscribe(new Spectator() {
+        @Override public void update(ByteBuffer update) {
+          entered.countDown();
+          while (true) {
+            try {
+              if (release.await(10, TimeUnit.SECONDS)) return;
+            } catch (InterruptedException ex) {
+              interrupted.set(true);
+            }
+          }
+        }
+
+        @Override public void dropped() {
+          droppedOn.set(Thread.currentThread());
+          dropped.countDown();
+        }
+      });
+      broadcast.publish("first");
+      assertTrue(entered.await(10, TimeUnit.SECONDS));
+      List<String> lines = Collections.synchronizedList(new ArrayList<>());
+      broadcast.subscribe(update -> lines.add(text(update)));
+      // Nothing more is published: the watchdog finds the stuck spectator
+      // on its own.
+      broadcast.publish("last");
+      waitFor(broadcast, 1);
+      assertEquals(List.of("last\n"), lines);
+      assertTrue(stuck.isDropped());
+      assertTrue(dropped.await(10, TimeUnit.SECONDS));
+      assertNotSame(Thread.currentThread(), droppedOn.get());
+      assertTrue(interrupted.get());
+      assertEquals(1, broadcast.dropped());
+      release.countDown();
+    }
+  }
+}
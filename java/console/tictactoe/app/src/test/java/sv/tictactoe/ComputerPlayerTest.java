@@ -0,0 +1,66 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import sv.tictactoe.Board.Position;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComputerPlayerTest {
+  private static @NotNull Board makeBoard(@NotNull String boardString)  {
+    var labels = boardString.toCharArray();
+    var positions = Position.values();
+    Map<Position, Board.Symbol> cells = new HashMap<>();
+    for (int index = 0; index < positions.length; ++index)
+      cells.put(positions[index], Board.Symbol.forStringNoEx(Character.toString(labels[index])));
+    return new Board(cells);
+  }
+
+  @Test void opensInTheCentre() {
+    var player = new ComputerPlayer();
+    assertEquals(Position.MIDDLE, player.bestMove(new Board(), Board.Symbol.NOUGHT));
+  }
+
+  @Test void takesAWin() {
+    var player = new ComputerPlayer();
+    assertEquals(Position.TOP_RIGHT, player.bestMove(makeBoard("OO_XX____"), Board.Symbol.NOUGHT));
+    assertEquals(Position.MIDDLE_RIGHT, player.bestMove(makeBoard("OO_XX____"), Board.Symbol.CROSS));
+  }
+
+  @Test void blocksALoss() {
+    var player = new ComputerPlayer();
+    assertEquals(Position.BOTTOM_RIGHT, player.bestMove(makeBoard("X___X_O__"), Board.Symbol.NOUGHT));
+  }
+
+  @Test void perfectPlayDraws() {
+    var board = new Board();
+    var analytics = new GameAnalytics();
+    var io = new ConsoleGameIO(new ByteArrayInputStream(new byte[0]), new PrintStream(new ByteArrayOutputStream()));
+    new Game(analytics, new ComputerPlayer(), new ComputerPlayer(), board, io).play();
+    assertTrue(analytics.isDraw(board));
+  }
+
+  @Test void limitedSearchesStillMakeLegalMoves() {
+    var players = new ComputerPlayer[]{ new ComputerPlayer(1, ComputerPlayer.UNLIMITED_NODES), new ComputerPlayer(9, 10) };
+    for (var player: players) {
+      var board = new Board();
+      var analytics = new GameAnalytics();
+      var symbol = Board.Symbol.NOUGHT;
+      while (!analytics.isGameOver(board)) {
+        var moves = board.moveCount();
+        player.makeMove(board, symbol);
+        assertEquals(moves + 1, board.moveCount());
+        symbol = symbol.other();
+      }
+    }
+    var budgeted = new ComputerPlayer(9, 10);
+    budgeted.bestMove(new Board(), Board.Symbol.NOUGHT);
+    assertTrue(budgeted.nodesSearched() <= 11);
+  }
+}
@@ -47,4 +47,40 @@ public class ConsoleGameIOTest {
     assertEquals(Board.Position.MIDDLE, position);
     board.placeMark(position, Board.Symbol.NOUGHT);
   }
+
+  @Test void checkNumericShortcuts() throws Board.InvalidPositionException, GameIO.AbnormalTerminationException {
+    var lineSeparator = System.lineSeparator();
+    var input = "5" + lineSeparator + "5" + lineSeparator + "TOP-LEFT" + lineSeparator + "9" + lineSeparator;
+    var io = new ConsoleGameIO(new ByteArrayInputStream(input.getBytes()), new PrintStream(new ByteArrayOutputStream()));
+    var board = new Board();
+
+    assertEquals(Board.Position.MIDDLE, io.getPosition(board));
+    board.placeMark(Board.Position.MIDDLE, Board.Symbol.NOUGHT);
+    // The taken middle is rejected, and labels are still accepted in any case.
+    assertEquals(Board.Position.TOP_LEFT, io.getPosition(board));
+    board.placeMark(Board.Position.TOP_LEFT, Board.Symbol.CROSS);
+    assertEquals(Board.Position.BOTTOM_RIGHT, io.getPosition(board));
+  }
+
+  @Test void checkBatchModeFlushesOncePerGame() throws Board.InvalidPositionException, GameIO.AbnormalTerminationException {
+    var lineSeparator = System.lineSeparator();
+    var input = "1" + lineSeparator + "2" + lineSeparator;
+    var baos = new ByteArrayOutputStream();
+    var io = new ConsoleGameIO(new ByteArrayInputStream(input.getBytes()), new PrintStream(baos), true);
+    var board = new Board();
+
+    board.placeMark(io.getPosition(board), Board.Symbol.NOUGHT);
+    board.placeMark(io.getPosition(board), Board.Symbol.CROSS);
+    assertEquals(0, baos.size());
+    io.declareDraw(board);
+    var output = baos.toString();
+    assertTrue(output.startsWith(new Board() + lineSeparator + "Choose a position: "));
+    assertTrue(output.endsWith("It's a draw." + lineSeparator));
+  }
+
+  @Test void checkPromptPerFreeCells() {
+    var io = new ConsoleGameIO(new ByteArrayInputStream(new byte[0]), new PrintStream(new ByteArrayOutputStream()));
+    var prompt = io.displayPrompt(new Board.Position[]{ Board.Position.TOP_RIGHT, Board.Position.MIDDLE });
+    assertTrue(prompt.startsWith("Choose a position: top-right, middle" + System.lineSeparator()));
+  }
 }
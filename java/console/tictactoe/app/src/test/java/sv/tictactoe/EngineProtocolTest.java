@@ -0,0 +1,68 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngineProtocolTest {
+  private static String run(Player player, String script) throws IOException {
+    var os = new ByteArrayOutputStream();
+    new EngineProtocol(player, new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII)), os).run();
+    return os.toString(StandardCharsets.US_ASCII);
+  }
+
+  @Test void repliesToEachCommandInOrder() throws IOException {
+    var script = "isready\n"
+        + "position startpos moves 1 4 2 5\n"
+        + "go\n"
+        + "position top-left\n"
+        + "go\n"
+        + "position 1 4 2 5 3\n"
+        + "go\n"
+        + "frobnicate\n";
+    var expected = "readyok\n"
+        + "bestmove top-right\n"
+        + "bestmove middle\n"
+        + "bestmove none\n"
+        + "error unknown command frobnicate\n";
+    assertEquals(expected, run(new ComputerPlayer(), script));
+  }
+
+  @Test void rejectsIllegalPositions() throws IOException {
+    var script = "position 1 1\n"
+        + "go\n"
+        + "position 1 4 2 5 3 6\n"
+        + "quit\n"
+        + "go\n";
+    var replies = run(new TablePlayer(), script).split("\n");
+    assertEquals(3, replies.length);
+    assertTrue(replies[0].startsWith("error"));
+    // The rejected position leaves the board empty, where the table plays the middle.
+    assertEquals("bestmove middle", replies[1]);
+    assertTrue(replies[2].startsWith("error the game is over"));
+  }
+
+  @Test void playsOnResizedBoards() throws IOException {
+    var script = "newgame 4x4x3\n"
+        + "position a1 a2 b1 b2\n"
+        + "go\n"
+        + "newgame 4x4\n";
+    var replies = run(new RandomPlayer(1), script).split("\n");
+    assertEquals(2, replies.length);
+    assertTrue(replies[0].matches("bestmove [a-d][1-4]"));
+    assertTrue(replies[1].startsWith("error"));
+  }
+
+  @Test void pipelinesManyPositions() throws IOException {
+    var script = new StringBuilder();
+    for (var game = 0; game < 10_000; ++game) script.append("newgame\nposition 5 1\ngo\n");
+    var replies = run(new TablePlayer(), script.toString()).split("\n");
+    assertEquals(10_000, replies.length);
+    for (var reply: replies) assertTrue(reply.startsWith("bestmove "));
+  }
+}
@@ -0,0 +1,78 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluationCacheTest {
+  @Test void packsEntries() {
+    var entry = EvaluationCache.pack(-12345, 17, EvaluationCache.UPPER, 675);
+    assertNotEquals(0, entry);
+    assertEquals(-12345, EvaluationCache.value(entry));
+    assertEquals(17, EvaluationCache.depth(entry));
+    assertEquals(EvaluationCache.UPPER, EvaluationCache.bound(entry));
+    assertEquals(675, EvaluationCache.move(entry));
+    assertEquals(EvaluationCache.NO_MOVE, EvaluationCache.move(EvaluationCache.pack(0, 0, EvaluationCache.EXACT, EvaluationCache.NO_MOVE)));
+  }
+
+  @Test void evictsWithTheClock() {
+    // A single set of eight ways.
+    var cache = new EvaluationCache(8);
+    for (var key = 1; key <= 8; ++key) cache.store(key, key, 1, EvaluationCache.EXACT, 0);
+    cache.store(9, 9, 1, EvaluationCache.EXACT, 0);
+    assertEquals(1, cache.evictions());
+    assertEquals(0, cache.probe(1));
+    // Key 2 is read, so the hand passes it over and takes key 3.
+    assertEquals(2, EvaluationCache.value(cache.probe(2)));
+    cache.store(10, 10, 1, EvaluationCache.EXACT, 0);
+    assertNotEquals(0, cache.probe(2));
+    assertEquals(0, cache.probe(3));
+    assertNotEquals(0, cache.probe(10));
+  }
+
+  @Test void persistsBetweenRuns(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("evaluations.cache");
+    try (var cache = new EvaluationCache(64, file, 4096)) {
+      for (var key = 1L; key <= 1000; ++key) cache.store(key * 0x9E3779B97F4A7C15L, (int) key, 3, EvaluationCache.LOWER, (int) key % 9);
+      assertThrows(IOException.class, () -> new EvaluationCache(64, file, 4096));
+    }
+    try (var cache = new EvaluationCache(64, file, 4096)) {
+      var found = 0;
+      for (var key = 1L; key <= 1000; ++key) {
+        var entry = cache.probe(key * 0x9E3779B97F4A7C15L);
+        if (entry == 0) continue;
+        ++found;
+        assertEquals((int) key, EvaluationCache.value(entry));
+        assertEquals((int) key % 9, EvaluationCache.move(entry));
+      }
+      // Four-way buckets lose a few entries to collisions.
+      assertTrue(found > 900, found + " entries survived");
+      assertTrue(cache.diskHits() > 0);
+    }
+    // A cache file of another size is started afresh.
+    try (var cache = new EvaluationCache(64, file, 8192)) {
+      assertEquals(0, cache.probe(0x9E3779B97F4A7C15L));
+    }
+  }
+
+  @Test void warmsTheSearchInTheNextSession(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("evaluations.cache");
+    int move;
+    try (var cache = new EvaluationCache(1 << 16, file, 1 << 20)) {
+      var player = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(30)), cache);
+      move = player.bestCell(new Board(), Board.Symbol.NOUGHT);
+      assertEquals(9, player.completedDepth());
+      assertTrue(player.nodesSearched() > 0);
+    }
+    try (var cache = new EvaluationCache(1 << 16, file, 1 << 20)) {
+      var player = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(30)), cache);
+      assertEquals(move, player.bestCell(new Board(), Board.Symbol.NOUGHT));
+      assertEquals(0, player.nodesSearched());
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sv.tictactoe.Board.Position;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameLogTest {
+  @TempDir Path directory;
+
+  @Test void encodeAndReplayRecords() throws Board.InvalidPositionException {
+    var board = new Board();
+    board.placeMark(Position.MIDDLE, Board.Symbol.NOUGHT);
+    board.placeMark(Position.TOP_LEFT, Board.Symbol.CROSS);
+    board.placeMark(Position.BOTTOM_RIGHT, Board.Symbol.NOUGHT);
+    var record = GameRecord.encode(board, Board.Symbol.CROSS, new GameIO.PlayerResignedException());
+    assertEquals(3, GameRecord.moves(record));
+    assertEquals(board.cell(Position.TOP_LEFT), GameRecord.move(record, 1));
+    assertEquals(GameRecord.ABANDONED, GameRecord.outcome(record));
+    assertEquals(GameRecord.RESIGNED, GameRecord.termination(record));
+    assertEquals(Board.Symbol.CROSS, GameRecord.terminatedBy(record));
+
+    var replayed = new Board();
+    GameRecord.replay(record, replayed);
+    assertEquals(board.toString(), replayed.toString());
+    assertNotEquals(0, GameRecord.encode(new Board()));
+    assertNull(GameRecord.terminatedBy(GameRecord.encode(new Board())));
+  }
+
+  @Test void appendAcrossSegmentsAndReopen() throws IOException {
+    // Eight records to a segment.
+    try (var log = new GameLog(directory, 64)) {
+      for (var record = 1L; record <= 20; ++record) log.append(record);
+    }
+    try (var log = new GameLog(directory, 64)) {
+      for (var record = 21L; record <= 30; ++record) log.append(record);
+    }
+    assertEquals(4, GameLog.segments(directory).size());
+    var records = new ArrayList<Long>();
+    try (var reader = new GameLogReader(directory)) {
+      while (reader.next()) records.add(reader.record());
+    }
+    assertEquals(30, records.size());
+    for (var index = 0; index < records.size(); ++index) assertEquals(index + 1L, records.get(index));
+  }
+
+  // A crash can lose a page of a segment while later ones reach the disk,
+  // leaving a gap of zeros; the log must carry on after the last record
+  // rather than over it, and readers skip the gap.
+  @Test void reopenAfterAGap() throws IOException {
+    try (var log = new GameLog(directory, 64)) {
+      for (var record = 1L; record <= 20; ++record) log.append(record);
+    }
+    try (var channel = FileChannel.open(GameLog.segmentPath(directory, 2), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Long.BYTES), 2 * Long.BYTES);
+    }
+    try (var log = new GameLog(directory, 64)) {
+      for (var record = 21L; record <= 25; ++record) log.append(record);
+    }
+    var records = new ArrayList<Long>();
+    try (var reader = new GameLogReader(directory)) {
+      while (reader.next()) records.add(reader.record());
+    }
+    assertEquals(24, records.size());
+    assertFalse(records.contains(19L));
+    for (var index = 0; index < records.size(); ++index) assertEquals(index + ((index < 18)? 1L : 2L), records.get(index));
+  }
+
+  @Test void recordPlayedGames() throws IOException {
+    var lineSeparator = System.getProperty("line.separator");
+    var input = "top-left" + lineSeparator + "middle-left" + lineSeparator
+        + "top-middle" + lineSeparator + "resign" + lineSeparator;
+    var console = new ConsoleGameIO(new ByteArrayInputStream(input.getBytes()), new PrintStream(new ByteArrayOutputStream()));
+    try (var log = new GameLog(directory)) {
+      var io = new RecordingGameIO(console, log);
+      new Game(new GameAnalytics(), new HumanPlayer(io), new HumanPlayer(io), new Board(), io).play();
+      var pool = new GamePool(Board::new, () -> new RecordingGameIO(new HeadlessGameIO(), log));
+      for (var game = 0; game < 100; ++game) {
+        var played = pool.acquire(new ComputerPlayer(), new TablePlayer());
+        played.play();
+        pool.release(played);
+      }
+    }
+    try (var reader = new GameLogReader(directory)) {
+      assertTrue(reader.next());
+      var record = reader.record();
+      assertEquals(3, GameRecord.moves(record));
+      assertEquals(GameRecord.RESIGNED, GameRecord.termination(record));
+      assertEquals(Board.Symbol.CROSS, GameRecord.terminatedBy(record));
+      var games = 0;
+      while (reader.next()) {
+        assertEquals(GameRecord.DRAW, GameRecord.outcome(reader.record()));
+        assertEquals(9, GameRecord.moves(reader.record()));
+        ++games;
+      }
+      assertEquals(100, games);
+    }
+  }
+}
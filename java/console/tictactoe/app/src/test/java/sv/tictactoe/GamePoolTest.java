@@ -0,0 +1,53 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class GamePoolTest {
+  @Test void reuseReleasedGames() {
+    var pool = new GamePool(Board::new, HeadlessGameIO::new);
+    var noughts = new RandomPlayer(1);
+    var crosses = new RandomPlayer(2);
+    var game = pool.acquire(noughts, crosses);
+    game.play();
+    assertTrue(game.board().moveCount() >= 5);
+    pool.release(game);
+    assertEquals(1, pool.idle());
+    var again = pool.acquire(crosses, noughts);
+    assertSame(game, again);
+    assertEquals(0, again.board().moveCount());
+    assertNull(again.board().winner());
+    assertEquals(0, pool.idle());
+  }
+
+  private static void playGames(GamePool pool, Player noughts, Player crosses, int games) {
+    for (var count = 0; count < games; ++count) {
+      var game = pool.acquire(noughts, crosses);
+      game.play();
+      pool.release(game);
+    }
+  }
+
+  @Test void steadyStateGamesDoNotAllocate() {
+    var threads = ManagementFactory.getThreadMXBean();
+    assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+    var allocation = (com.sun.management.ThreadMXBean) threads;
+    assumeTrue(allocation.isThreadAllocatedMemorySupported());
+    allocation.setThreadAllocatedMemoryEnabled(true);
+    var threadId = Thread.currentThread().getId();
+    var pool = new GamePool(Board::new, HeadlessGameIO::new);
+    var noughts = new RandomPlayer(3);
+    var crosses = new RandomPlayer(4);
+    // Let the game loop be compiled before measuring it.
+    playGames(pool, noughts, crosses, 200_000);
+    var before = allocation.getThreadAllocatedBytes(threadId);
+    playGames(pool, noughts, crosses, 100_000);
+    var allocated = allocation.getThreadAllocatedBytes(threadId) - before;
+    // Allow a little for the measurement itself.
+    assertTrue(allocated < 10_000, allocated + " bytes allocated by 100,000 games");
+  }
+}
@@ -0,0 +1,121 @@
+package sv.tictactoe;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+  // Connects, sends all of a player's moves at once and returns the socket.
+  private static Socket play(int port, String... moves) throws IOException {
+    var socket = new Socket("localhost", port);
+    if (moves.length > 0) move(socket, moves);
+    return socket;
+  }
+
+  private static void move(Socket socket, String... moves) throws IOException {
+    var lineSeparator = System.getProperty("line.separator");
+    var script = String.join(lineSeparator, moves) + lineSeparator;
+    socket.getOutputStream().write(script.getBytes(StandardCharsets.UTF_8));
+    socket.getOutputStream().flush();
+  }
+
+  private static String transcript(Socket socket) throws IOException {
+    try (socket) {
+      return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test void playOneGame() throws IOException {
+    try (var server = new GameServer(0, 10).start()) {
+      var noughts = play(server.port(), "top-left", "top-middle", "top-right");
+      var crosses = play(server.port(), "middle-left", "middle");
+      var noughtsTranscript = transcript(noughts);
+      var crossesTranscript = transcript(crosses);
+      assertTrue(noughtsTranscript.contains("You are playing O"));
+      assertTrue(noughtsTranscript.contains("Player O has won!"));
+      assertTrue(crossesTranscript.contains("You are playing X"));
+      assertTrue(crossesTranscript.contains("Player O has won!"));
+    }
+  }
+
+  @Test void disconnectingQuits() throws IOException {
+    try (var server = new GameServer(0, 10).start()) {
+      var noughts = play(server.port(), "middle", "resign");
+      var crosses = play(server.port(), "top-left");
+      assertTrue(transcript(crosses).contains("Player O resigned"));
+      noughts.close();
+
+      noughts = play(server.port(), "middle");
+      crosses = play(server.port());
+      crosses.shutdownOutput();
+      assertTrue(transcript(noughts).contains("Player X quit"));
+      crosses.close();
+    }
+  }
+
+  // Waits, for up to ten seconds, for the server to have the given number
+  // of games in progress.
+  private static void awaitActiveGames(GameServer server, int games) throws InterruptedException {
+    var deadline = System.nanoTime() + 10_000_000_000L;
+    while (server.activeGames() != games && System.nanoTime() < deadline) Thread.sleep(10);
+    assertEquals(games, server.activeGames());
+  }
+
+  @Test void discardsAWaitingPlayerWhoLeft() throws IOException {
+    try (var server = new GameServer(0, 10).start()) {
+      play(server.port()).close();
+      var noughts = play(server.port(), "top-left", "top-middle", "top-right");
+      var crosses = play(server.port(), "middle-left", "middle");
+      var noughtsTranscript = transcript(noughts);
+      assertTrue(noughtsTranscript.contains("You are playing O"));
+      assertTrue(noughtsTranscript.contains("Player O has won!"));
+      assertTrue(transcript(crosses).contains("Player O has won!"));
+      assertEquals(1, server.gamesPlayed());
+    }
+  }
+
+  @Test void closingEndsGamesInProgress() throws IOException, InterruptedException {
+    var server = new GameServer(0, 10).start();
+    var noughts = play(server.port());
+    var crosses = play(server.port());
+    awaitActiveGames(server, 1);
+    server.close();
+    assertTrue(transcript(noughts).contains("You are playing O"));
+    assertTrue(transcript(crosses).contains("You are playing X"));
+    awaitActiveGames(server, 0);
+  }
+
+  // Every game is held open, waiting on its first move, until all are in
+  // progress at once. Each game takes four file descriptors in this one
+  // process, so the number of games is bounded by the descriptor limit.
+  @Test void hostManyConcurrentGames() throws IOException, InterruptedException {
+    var os = ManagementFactory.getOperatingSystemMXBean();
+    var games = 10_000;
+    if (os instanceof UnixOperatingSystemMXBean unix) {
+      var spare = unix.getMaxFileDescriptorCount() - unix.getOpenFileDescriptorCount() - 1_000;
+      games = (int) Math.min(games, spare / 4);
+    }
+    try (var server = new GameServer(0, 2 * games).start()) {
+      var sockets = new ArrayList<Socket>();
+      for (var game = 0; game < games; ++game) {
+        sockets.add(play(server.port()));
+        sockets.add(play(server.port()));
+      }
+      awaitActiveGames(server, games);
+      for (var i = 0; i < sockets.size(); i += 2) {
+        move(sockets.get(i), "top-left", "top-middle", "top-right");
+        move(sockets.get(i + 1), "middle-left", "middle");
+      }
+      for (var socket: sockets) assertTrue(transcript(socket).contains("Player O has won!"));
+      awaitActiveGames(server, 0);
+      assertEquals(games, server.gamesPlayed());
+    }
+  }
+}
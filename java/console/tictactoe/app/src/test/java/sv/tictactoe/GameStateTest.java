@@ -0,0 +1,50 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateTest {
+  @Test void advancesOneMoveAtATime() throws Board.InvalidPositionException {
+    var state = new GameState(new Board());
+    assertEquals(Board.Symbol.NOUGHT, state.toMove());
+    assertEquals(GameState.Outcome.IN_PROGRESS, state.submit(0));
+    assertEquals(Board.Symbol.CROSS, state.toMove());
+    // An occupied cell is refused and the turn stays with crosses.
+    assertThrows(Board.InvalidPositionException.class, () -> state.submit(0));
+    assertEquals(Board.Symbol.CROSS, state.toMove());
+    state.submit(3);
+    state.submit(1);
+    state.submit(4);
+    assertEquals(GameState.Outcome.NOUGHTS_WON, state.submit(2));
+    assertTrue(state.isOver());
+    assertThrows(IllegalStateException.class, () -> state.submit(8));
+    state.reset();
+    assertEquals(GameState.Outcome.IN_PROGRESS, state.outcome());
+    assertEquals(0, state.board().moveCount());
+  }
+
+  @Test void endsInADraw() throws Board.InvalidPositionException {
+    var state = new GameState(new Board());
+    for (var cell: new int[]{ 4, 0, 2, 6, 3, 5, 1, 7 }) assertEquals(GameState.Outcome.IN_PROGRESS, state.submit(cell));
+    assertEquals(GameState.Outcome.DRAW, state.submit(8));
+  }
+
+  @Test void recordsWhoAbandonedTheGame() throws Board.InvalidPositionException {
+    var state = new GameState(new Board());
+    state.submit(4);
+    var resignation = new GameIO.PlayerResignedException();
+    assertEquals(GameState.Outcome.ABANDONED, state.abandon(resignation));
+    assertEquals(Board.Symbol.CROSS, state.toMove());
+    assertSame(resignation, state.termination());
+  }
+
+  @Test void playIsAnAdapterOverTheState() {
+    var board = new Board();
+    var io = new HeadlessGameIO();
+    var game = new Game(new GameAnalytics(), new TablePlayer(), new TablePlayer(), board, io);
+    game.play();
+    assertEquals(GameState.Outcome.DRAW, game.state().outcome());
+    assertEquals(9, board.moveCount());
+  }
+}
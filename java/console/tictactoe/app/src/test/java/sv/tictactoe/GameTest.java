@@ -31,4 +31,37 @@ public class GameTest {
     assertEquals(Board.Symbol.NOUGHT, analytics.winner(board));
     assertFalse(analytics.isDraw(board));
   }
+
+  @Test void playLargerBoardGame() {
+    var lineSeparator = System.getProperty("line.separator");
+    var input = "a1" + lineSeparator
+        + "b2" + lineSeparator
+        + "b1" + lineSeparator
+        + "c2" + lineSeparator
+        + "z9" + lineSeparator
+        + "c1" + lineSeparator
+        + "d2" + lineSeparator
+        + "d1" + lineSeparator;
+    var board = new Board(4, 4, 4);
+    var analytics = new GameAnalytics();
+    var is = new ByteArrayInputStream(input.getBytes());
+    var baos = new ByteArrayOutputStream();
+    var os = new PrintStream(baos);
+    var io = new ConsoleGameIO(is, os);
+    var game = new Game(analytics, new HumanPlayer(io), new HumanPlayer(io), board, io);
+    game.play();
+    assertEquals(Board.Symbol.NOUGHT, analytics.winner(board));
+    assertEquals(7, board.moveCount());
+  }
+
+  @Test void humanOnAHeadlessGameQuits() {
+    var io = new HeadlessGameIO();
+    var board = new Board();
+    var game = new Game(new GameAnalytics(), new RandomPlayer(3), new HumanPlayer(io), board, io);
+    game.play();
+    assertEquals(GameState.Outcome.ABANDONED, game.state().outcome());
+    assertEquals(Board.Symbol.CROSS, game.state().toMove());
+    assertInstanceOf(GameIO.PlayerQuitException.class, io.termination());
+    assertEquals(1, board.moveCount());
+  }
 }
@@ -0,0 +1,91 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IterativeDeepeningPlayerTest {
+  // The board with the given cells marked in turn, noughts first.
+  static Board board(int rows, int columns, int winLength, String... moves) throws Board.InvalidPositionException {
+    var board = new Board(rows, columns, winLength);
+    var symbol = Board.Symbol.NOUGHT;
+    for (var move: moves) {
+      board.placeMark(board.parseCell(move), symbol);
+      symbol = symbol.other();
+    }
+    return board;
+  }
+
+  @Test void drawsAgainstItselfOnTheStandardBoard() throws GameIO.AbnormalTerminationException {
+    var board = new Board();
+    var noughts = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(5)));
+    var crosses = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofSeconds(5)));
+    var analytics = new GameAnalytics();
+    for (var symbol = Board.Symbol.NOUGHT; !analytics.isGameOver(board); symbol = symbol.other())
+      ((symbol == Board.Symbol.NOUGHT)? noughts : crosses).makeMove(board, symbol);
+    assertTrue(analytics.isDraw(board));
+  }
+
+  @Test void takesAWinAndBlocksOneOnALargerBoard() throws Board.InvalidPositionException {
+    var player = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofMillis(500)));
+    // Noughts have three in a row on the second row of a 7x7 board, open at both ends.
+    var board = board(7, 7, 4, "b2", "b5", "c2", "c5", "d2", "g7");
+    var win = player.bestCell(board, Board.Symbol.NOUGHT);
+    assertTrue(win == board.parseCell("a2") || win == board.parseCell("e2"), board.label(win));
+    // Crosses cannot stop both ends; with one end closed, they block the other.
+    board = board(7, 7, 4, "b2", "a2", "c2", "c5", "d2");
+    assertEquals(board.parseCell("e2"), player.bestCell(board, Board.Symbol.CROSS));
+  }
+
+  @Test void keepsToTheMoveDeadline() throws Board.InvalidPositionException {
+    var player = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofMillis(50)));
+    var board = board(15, 15, 5, "h8", "h9", "i9", "g7", "j10");
+    player.bestCell(board, Board.Symbol.CROSS);
+    var start = System.nanoTime();
+    var cell = player.bestCell(board, Board.Symbol.CROSS);
+    var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(board.isEmpty(cell));
+    assertTrue(player.completedDepth() >= 1);
+    assertTrue(elapsed < 150, elapsed + "ms");
+  }
+
+  @Test void fallsBackWhenTheGameClockRunsOut() throws Board.InvalidPositionException {
+    var clock = new TimeControl(Duration.ofSeconds(1), Duration.ofNanos(1));
+    var player = new IterativeDeepeningPlayer(clock);
+    var board = board(15, 15, 5, "h8");
+    var cell = player.bestCell(board, Board.Symbol.CROSS);
+    assertEquals(0, player.completedDepth());
+    // The fallback is next to the only mark.
+    assertTrue(Math.abs(cell / 15 - 7) <= 1 && Math.abs(cell % 15 - 7) <= 1 && board.isEmpty(cell));
+    assertEquals(Duration.ZERO, clock.remaining());
+  }
+
+  @Test void sharesTheGameClockAmongMoves() {
+    var clock = new TimeControl(Duration.ofSeconds(10), Duration.ofSeconds(4));
+    assertEquals(Duration.ofSeconds(1).toNanos(), clock.budgetNanos(4));
+    assertEquals(Duration.ofSeconds(4).toNanos(), clock.budgetNanos(1));
+    clock.charge(Duration.ofSeconds(3).toNanos());
+    assertEquals(Duration.ofSeconds(1).toNanos(), clock.budgetNanos(1));
+    clock.newGame();
+    assertEquals(Duration.ofSeconds(4), clock.remaining());
+  }
+
+  @Test void stopsWhenCancelled() throws Exception {
+    var player = new IterativeDeepeningPlayer(TimeControl.perMove(Duration.ofHours(1)));
+    var board = board(15, 15, 5, "h8", "h9");
+    var canceller = Executors.newSingleThreadScheduledExecutor();
+    try {
+      canceller.schedule(player::cancel, 200, TimeUnit.MILLISECONDS);
+      var start = System.nanoTime();
+      var cell = player.bestCell(board, Board.Symbol.NOUGHT);
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      assertTrue(board.isEmpty(cell));
+    } finally {
+      canceller.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sv.tictactoe.IterativeDeepeningPlayerTest.board;
+
+public class LazySmpPlayerTest {
+  private static Board.Symbol toMove(Board board) {
+    return (board.moveCount() % 2 == 0)? Board.Symbol.NOUGHT : Board.Symbol.CROSS;
+  }
+
+  @Test void playsTheSameMoveOnSolvedPositions() throws Board.InvalidPositionException {
+    var boards = new Board[]{
+        new Board(),
+        board(3, 3, 3, "top-left"),
+        board(3, 3, 3, "middle", "top-left", "bottom-right"),
+        // Noughts can win at either end of the row; the first in move order
+        // is played.
+        board(7, 7, 4, "b2", "b5", "c2", "c5", "d2", "g7"),
+    };
+    for (var board: boards) {
+      var single = new IterativeDeepeningPlayer(TimeControl.perMove(TimeControl.UNLIMITED));
+      var expected = single.bestCell(board, toMove(board));
+      var table = new SharedTranspositionTable(1 << 16);
+      for (var run = 0; run < 10; ++run) {
+        // Fresh tables, and one shared from run to run.
+        try (var player = new LazySmpPlayer(4, TimeControl.perMove(TimeControl.UNLIMITED), (run % 2 == 0)? new SharedTranspositionTable(1 << 16) : table)) {
+          assertEquals(expected, player.bestCell(board, toMove(board)), board.label(expected));
+          // With a fresh table nothing is known, and the position is searched.
+          if (run % 2 == 0) assertTrue(player.nodesSearched() > 0);
+        }
+      }
+    }
+  }
+
+  @Test void drawsAgainstItself() {
+    var board = new Board();
+    var analytics = new GameAnalytics();
+    try (var player = new LazySmpPlayer(3, TimeControl.perMove(Duration.ofSeconds(5)))) {
+      for (var symbol = Board.Symbol.NOUGHT; !analytics.isGameOver(board); symbol = symbol.other()) player.makeMove(board, symbol);
+    }
+    assertTrue(analytics.isDraw(board));
+  }
+
+  @Test void keepsToTheMoveDeadline() throws Board.InvalidPositionException {
+    try (var player = new LazySmpPlayer(2, TimeControl.perMove(Duration.ofMillis(50)))) {
+      var board = board(15, 15, 5, "h8", "h9", "i9");
+      var start = System.nanoTime();
+      var cell = player.bestCell(board, Board.Symbol.CROSS);
+      assertTrue(board.isEmpty(cell));
+      assertTrue(System.nanoTime() - start < Duration.ofMillis(300).toNanos());
+      assertTrue(player.completedDepth() >= 1);
+    }
+  }
+
+  @Test void reportsTheSpeedup() {
+    var result = LazySmpPlayer.measureSpeedup(new Board(4, 4, 3), Board.Symbol.NOUGHT, 2, 4);
+    assertEquals(2, result.threads());
+    assertTrue(result.singleNodes() > 0 && result.parallelNodes() > 0);
+    assertTrue(result.speedup() > 0);
+  }
+}
@@ -0,0 +1,104 @@
+package sv.tictactoe;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+  @Test void histogramReportsBucketBounds() {
+    var histogram = new LatencyHistogram();
+    for (var sample = 0; sample < 98; ++sample) histogram.record(100);
+    histogram.record(5_000);
+    histogram.record(1_000_000);
+    var snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.getCount());
+    assertEquals(127, snapshot.getP50Nanos());
+    assertEquals(127, snapshot.getP90Nanos());
+    assertEquals(8191, snapshot.getP99Nanos());
+    assertEquals(1_000_000, snapshot.getMaxNanos());
+    assertEquals((98 * 100 + 5_000 + 1_000_000) / 100.0, snapshot.getMeanNanos());
+    histogram.reset();
+    assertEquals(0, histogram.snapshot().getCount());
+  }
+
+  @Test void instrumentationIsOffByDefault() {
+    var player = new RandomPlayer(1);
+    assertSame(player, Metrics.instrument(player));
+  }
+
+  private static void playGame(Metrics metrics) throws GameIO.AbnormalTerminationException {
+    var board = new Board();
+    var analytics = new InstrumentedAnalytics(new GameAnalytics(), metrics);
+    var noughts = new InstrumentedPlayer(new RandomPlayer(1), metrics);
+    var crosses = new InstrumentedPlayer(new ComputerPlayer(), metrics);
+    var event = metrics.gameStarted(noughts, crosses);
+    for (var player = noughts; !analytics.isGameOver(board); player = (player == noughts)? crosses : noughts)
+      player.makeMove(board, (player == noughts)? Board.Symbol.NOUGHT : Board.Symbol.CROSS);
+    metrics.gameEnded(event, board, null);
+  }
+
+  @Test void countsGamesAndTimesMoves() throws GameIO.AbnormalTerminationException {
+    var metrics = new Metrics();
+    playGame(metrics);
+    assertEquals(1, metrics.getGamesStarted());
+    assertEquals(1, metrics.getGamesCompleted());
+    assertEquals(1, metrics.getNoughtsWins() + metrics.getCrossesWins() + metrics.getDraws());
+    var moves = metrics.getMoves();
+    assertTrue(moves >= 5 && moves <= 9);
+    assertEquals(moves + 1, metrics.getAnalyticsCalls());
+    var latency = metrics.getMoveLatency();
+    assertEquals(moves, latency.get("RandomPlayer").getCount() + latency.get("ComputerPlayer").getCount());
+  }
+
+  @Test void publishesOverJmx() throws Exception {
+    var metrics = new Metrics();
+    playGame(metrics);
+    var server = ManagementFactory.getPlatformMBeanServer();
+    var name = new ObjectName("sv.tictactoe:type=Metrics,name=test");
+    server.registerMBean(metrics, name);
+    try {
+      assertEquals(1L, server.getAttribute(name, "GamesCompleted"));
+      var latency = (TabularData) server.getAttribute(name, "MoveLatency");
+      var computer = (CompositeData) latency.get(new Object[]{ "ComputerPlayer" }).get("value");
+      assertTrue((Long) computer.get("count") > 0);
+      server.invoke(name, "reset", null, null);
+      assertEquals(0L, server.getAttribute(name, "GamesCompleted"));
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+
+  @Test void recordsFlightEvents(@TempDir Path directory) throws IOException, GameIO.AbnormalTerminationException {
+    var file = directory.resolve("games.jfr");
+    var metrics = new Metrics();
+    try (var recording = new Recording()) {
+      recording.enable("sv.tictactoe.Game");
+      recording.enable("sv.tictactoe.Move");
+      recording.start();
+      playGame(metrics);
+      recording.stop();
+      recording.dump(file);
+    }
+    var games = 0;
+    var moves = 0;
+    for (var event: RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals("sv.tictactoe.Game")) {
+        ++games;
+        assertEquals("RandomPlayer", event.getString("noughts"));
+        assertEquals(metrics.getMoves(), event.getInt("moves"));
+      } else if (event.getEventType().getName().equals("sv.tictactoe.Move")) ++moves;
+    }
+    assertEquals(1, games);
+    assertEquals(metrics.getMoves(), moves);
+  }
+}
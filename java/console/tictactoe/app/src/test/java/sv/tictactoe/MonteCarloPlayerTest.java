@@ -0,0 +1,73 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import sv.tictactoe.Board.Position;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonteCarloPlayerTest {
+  @Test void findsWinsAndBlocks() throws Board.InvalidPositionException {
+    try (var player = new MonteCarloPlayer(2, Duration.ofMillis(100), 1 << 16, 42)) {
+      var board = new Board();
+      board.placeMark(Position.TOP_LEFT, Board.Symbol.NOUGHT);
+      board.placeMark(Position.MIDDLE_LEFT, Board.Symbol.CROSS);
+      board.placeMark(Position.TOP_MIDDLE, Board.Symbol.NOUGHT);
+      board.placeMark(Position.MIDDLE, Board.Symbol.CROSS);
+      assertEquals(board.cell(Position.TOP_RIGHT), player.bestCell(board, Board.Symbol.NOUGHT));
+      assertTrue(player.iterations() > 0);
+      // Crosses would rather win at once than block.
+      assertEquals(board.cell(Position.MIDDLE_RIGHT), player.bestCell(board, Board.Symbol.CROSS));
+
+      board = new Board();
+      board.placeMark(Position.TOP_LEFT, Board.Symbol.NOUGHT);
+      board.placeMark(Position.BOTTOM_RIGHT, Board.Symbol.CROSS);
+      board.placeMark(Position.TOP_MIDDLE, Board.Symbol.NOUGHT);
+      assertEquals(board.cell(Position.TOP_RIGHT), player.bestCell(board, Board.Symbol.CROSS));
+    }
+  }
+
+  @Test void respectsTheTimeBudget() {
+    try (var player = new MonteCarloPlayer(2, Duration.ofMillis(50), 1 << 12, 7)) {
+      var board = new Board(15, 15, 5);
+      var analytics = new GameAnalytics();
+      var symbol = Board.Symbol.NOUGHT;
+      for (var move = 0; move < 4 && !analytics.isGameOver(board); ++move) {
+        var start = System.nanoTime();
+        player.makeMove(board, symbol);
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(500).toNanos());
+        symbol = symbol.other();
+      }
+      assertEquals(4, board.moveCount());
+    }
+  }
+
+  @Test void beatsOrDrawsARandomPlayer() {
+    try (var player = new MonteCarloPlayer(1, Duration.ofMillis(20), 1 << 16, 3)) {
+      var random = new RandomPlayer(11);
+      var analytics = new GameAnalytics();
+      for (var game = 0; game < 5; ++game) {
+        var board = new Board();
+        new Game(analytics, player, random, board, new HeadlessGameIO()).play();
+        assertNotEquals(Board.Symbol.CROSS, analytics.winner(board));
+      }
+    }
+  }
+
+  @Test void leavesOutTreesStillInUseByAnOverrun() throws Board.InvalidPositionException {
+    // With no grace past a short deadline, workers on a large board are
+    // cut off mid-playout, and are often still running when the next
+    // search begins.
+    try (var player = new MonteCarloPlayer(2, Duration.ofMillis(1), 1 << 12, 5, 0)) {
+      var board = new Board(26, 26, 5);
+      board.placeMark(board.cell(13, 13), Board.Symbol.NOUGHT);
+      for (var move = 0; move < 200; ++move) {
+        var cell = player.bestCell(board, Board.Symbol.CROSS);
+        assertTrue(board.isEmpty(cell));
+      }
+      assertTrue(player.overruns() > 0);
+      assertTrue(player.skipped() > 0);
+    }
+  }
+}
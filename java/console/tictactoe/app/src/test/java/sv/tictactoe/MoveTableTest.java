@@ -0,0 +1,52 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import sv.tictactoe.Board.Position;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveTableTest {
+  @Test void loadsTheGeneratedTable() {
+    var table = MoveTable.load();
+    var board = new Board();
+    assertEquals(MoveTable.DRAW, table.outcome(board, Board.Symbol.NOUGHT));
+    assertEquals(Position.MIDDLE, table.bestMove(board, Board.Symbol.NOUGHT));
+  }
+
+  @Test void agreesWithSearch() throws Board.InvalidPositionException {
+    var table = MoveTable.instance();
+    var board = new Board();
+    board.placeMark(Position.TOP_MIDDLE, Board.Symbol.NOUGHT);
+    // Crosses can hold the draw, but noughts win if crosses play an edge.
+    assertEquals(MoveTable.DRAW, table.outcome(board, Board.Symbol.CROSS));
+    board.placeMark(Position.MIDDLE_LEFT, Board.Symbol.CROSS);
+    assertEquals(MoveTable.WIN, table.outcome(board, Board.Symbol.NOUGHT));
+    var search = new ComputerPlayer();
+    var move = table.bestMove(board, Board.Symbol.NOUGHT);
+    board.placeMark(move, Board.Symbol.NOUGHT);
+    assertEquals(MoveTable.LOSS, table.outcome(board, Board.Symbol.CROSS));
+    board.placeMark(search.bestMove(board, Board.Symbol.CROSS), Board.Symbol.CROSS);
+    assertEquals(MoveTable.WIN, table.outcome(board, Board.Symbol.NOUGHT));
+  }
+
+  @Test void finishedGamesHaveNoMove() throws Board.InvalidPositionException {
+    var board = new Board();
+    board.placeMark(Position.TOP_LEFT, Board.Symbol.NOUGHT);
+    board.placeMark(Position.TOP_MIDDLE, Board.Symbol.NOUGHT);
+    board.placeMark(Position.TOP_RIGHT, Board.Symbol.NOUGHT);
+    assertNull(MoveTable.instance().bestMove(board, Board.Symbol.CROSS));
+    assertEquals(MoveTable.LOSS, MoveTable.instance().outcome(board, Board.Symbol.CROSS));
+  }
+
+  @Test void tablePlayDrawsAgainstSearch() {
+    var board = new Board();
+    var analytics = new GameAnalytics();
+    var io = new ConsoleGameIO(new ByteArrayInputStream(new byte[0]), new PrintStream(new ByteArrayOutputStream()));
+    new Game(analytics, new TablePlayer(), new ComputerPlayer(), board, io).play();
+    assertTrue(analytics.isDraw(board));
+  }
+}
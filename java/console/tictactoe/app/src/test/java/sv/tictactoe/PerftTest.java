@@ -0,0 +1,55 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+  @Test void countsEveryGame() {
+    try (var perft = new Perft(4)) {
+      var result = perft.count(new Board());
+      assertArrayEquals(new long[]{ 1, 9, 72, 504, 3024, 15120, 54720, 148176, 200448, 127872 }, result.positions());
+      assertEquals(549946, result.totalPositions());
+      // Every legal move from one ply leads to a position of the next.
+      assertArrayEquals(new long[]{ 9, 72, 504, 3024, 15120, 54720, 148176, 200448, 127872, 0 }, result.moves());
+      assertEquals(549945, result.totalMoves());
+      assertEquals(255168, result.games());
+      assertArrayEquals(new long[]{ 0, 0, 0, 0, 0, 1440, 0, 47952, 0, 81792 }, result.noughtsWins());
+      assertArrayEquals(new long[]{ 0, 0, 0, 0, 0, 0, 5328, 0, 72576, 0 }, result.crossesWins());
+      assertArrayEquals(new long[]{ 0, 0, 0, 0, 0, 0, 0, 0, 0, 46080 }, result.draws());
+      assertTrue(result.positionsPerSecond() > 0);
+    }
+  }
+
+  @Test void countsEachPositionOnce() {
+    try (var perft = new Perft(4)) {
+      var result = perft.count(new Board(), 9, true);
+      assertArrayEquals(new long[]{ 1, 9, 72, 252, 756, 1260, 1520, 1140, 390, 78 }, result.positions());
+      assertEquals(5478, result.totalPositions());
+      // A position still in play has a legal move for every empty cell.
+      for (var ply = 0; ply < result.moves().length; ++ply) {
+        var ended = result.noughtsWins()[ply] + result.crossesWins()[ply] + result.draws()[ply];
+        assertEquals((result.positions()[ply] - ended) * (9 - ply), result.moves()[ply]);
+      }
+      assertArrayEquals(new long[]{ 9, 72, 504, 1512, 3780 }, Arrays.copyOf(result.moves(), 5));
+      // The 958 distinct finished games.
+      assertEquals(958, result.games());
+    }
+  }
+
+  @Test void stopsAtTheDepth() throws Board.InvalidPositionException {
+    try (var perft = new Perft(1)) {
+      var board = new Board(4, 4, 3);
+      assertArrayEquals(new long[]{ 1, 16, 240, 3360 }, perft.count(board, 3, false).positions());
+      board.placeMark(0, Board.Symbol.NOUGHT);
+      // Crosses is to move, and the count starts from the position given.
+      var result = perft.count(board, 2, true);
+      assertArrayEquals(new long[]{ 1, 15, 15 * 14 }, result.positions());
+      // The moves from the last ply are counted, though not played.
+      assertArrayEquals(new long[]{ 15, 15 * 14, 15 * 14 * 13 }, result.moves());
+      assertEquals(0, result.games());
+    }
+  }
+}
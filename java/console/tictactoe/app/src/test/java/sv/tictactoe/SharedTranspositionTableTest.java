@@ -0,0 +1,62 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedTranspositionTableTest {
+  @Test void storesAndProbes() {
+    var table = new SharedTranspositionTable(16);
+    assertEquals(0, table.probe(42));
+    table.store(42, -7, 5, EvaluationCache.LOWER, 3);
+    var entry = table.probe(42);
+    assertEquals(-7, EvaluationCache.value(entry));
+    assertEquals(5, EvaluationCache.depth(entry));
+    assertEquals(EvaluationCache.LOWER, EvaluationCache.bound(entry));
+    assertEquals(3, EvaluationCache.move(entry));
+    // A shallower result for the same position does not replace a deeper.
+    table.store(42, 1, 2, EvaluationCache.EXACT, 4);
+    assertEquals(5, EvaluationCache.depth(table.probe(42)));
+    // Another position in the same slot does.
+    table.store(42 + (16L << 32), 1, 0, EvaluationCache.EXACT, 4);
+    assertEquals(0, table.probe(42));
+    assertEquals(1, EvaluationCache.value(table.probe(42 + (16L << 32))));
+  }
+
+  @Test void neverReturnsAnotherPositionsEntry() throws Exception {
+    // Many keys crowd a small table from several threads; each stores a
+    // value derived from its key, so a torn read would show.
+    var table = new SharedTranspositionTable(64);
+    var pool = Executors.newFixedThreadPool(4);
+    try {
+      var tasks = new ArrayList<Callable<Long>>();
+      for (var thread = 0; thread < 4; ++thread) {
+        var seed = thread;
+        tasks.add(() -> {
+          var random = new SplittableRandom(seed);
+          var hits = 0L;
+          for (var step = 0; step < 1_000_000; ++step) {
+            var key = random.nextLong(1024) * 0x9E3779B97F4A7C15L;
+            var entry = table.probe(key);
+            if (entry != 0) {
+              assertEquals((int) (key >>> 40), EvaluationCache.value(entry));
+              ++hits;
+            }
+            table.store(key, (int) (key >>> 40), random.nextInt(8), EvaluationCache.EXACT, 0);
+          }
+          return hits;
+        });
+      }
+      var hits = 0L;
+      for (var result: pool.invokeAll(tasks)) hits += result.get();
+      assertTrue(hits > 0);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
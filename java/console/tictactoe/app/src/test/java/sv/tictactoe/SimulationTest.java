@@ -0,0 +1,36 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationTest {
+  @Test void perfectPlayersAlwaysDraw() {
+    var result = new Simulation(Board::new, ComputerPlayer::new, TablePlayer::new).run(5000);
+    assertEquals(5000, result.games());
+    assertEquals(5000, result.draws());
+    assertEquals(5000, result.gameLengths()[9]);
+  }
+
+  @Test void tallyRandomGames() {
+    var seeds = new AtomicLong();
+    var result = new Simulation(Board::new, () -> new RandomPlayer(seeds.incrementAndGet()), () -> new RandomPlayer(-seeds.incrementAndGet())).run(20000);
+    assertEquals(20000, result.noughtsWins() + result.crossesWins() + result.draws());
+    assertEquals(0, result.abnormalTerminations());
+    assertEquals(20000, Arrays.stream(result.gameLengths()).sum());
+    // Noughts move first, so no game ends before their third mark.
+    for (var length = 0; length < 5; ++length) assertEquals(0, result.gameLengths()[length]);
+    // The first player wins random games more often than the second.
+    assertTrue(result.noughtsWins() > result.crossesWins());
+    assertTrue(result.gamesPerSecond() > 0);
+  }
+
+  @Test void simulateLargerBoards() {
+    var result = new Simulation(() -> new Board(7, 7, 4), RandomPlayer::new, RandomPlayer::new).run(2000);
+    assertEquals(2000, result.noughtsWins() + result.crossesWins() + result.draws());
+    assertEquals(50, result.gameLengths().length);
+  }
+}
@@ -0,0 +1,67 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+import sv.tictactoe.Board.Position;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymmetryTest {
+  private static void collect(Board board, Board.Symbol symbol, Set<Integer> keys, Set<Integer> canonicalKeys)
+      throws Board.InvalidPositionException {
+    if (!keys.add(board.key())) return;
+    canonicalKeys.add(Symmetry.canonicalKey(board));
+    if (board.winner() != null || board.isFull()) return;
+    for (var position: board.allowedPositions()) {
+      var next = new Board();
+      for (var cell: Position.values()) {
+        var mark = board.getMark(cell);
+        if (mark != null) next.placeMark(cell, mark);
+      }
+      next.placeMark(position, symbol);
+      collect(next, symbol.other(), keys, canonicalKeys);
+    }
+  }
+
+  @Test void countsDistinctPositions() throws Board.InvalidPositionException {
+    var keys = new HashSet<Integer>();
+    var canonicalKeys = new HashSet<Integer>();
+    collect(new Board(), Board.Symbol.NOUGHT, keys, canonicalKeys);
+    assertEquals(5478, keys.size());
+    assertEquals(765, canonicalKeys.size());
+  }
+
+  @Test void imagesShareACanonicalForm() throws Board.InvalidPositionException {
+    var board = new Board();
+    board.placeMark(Position.TOP_LEFT, Board.Symbol.NOUGHT);
+    board.placeMark(Position.TOP_MIDDLE, Board.Symbol.CROSS);
+    board.placeMark(Position.MIDDLE_RIGHT, Board.Symbol.NOUGHT);
+    var expected = Symmetry.canonicalKey(board);
+    for (var transform = 0; transform < Symmetry.COUNT; ++transform) {
+      var image = new Board();
+      for (var position: Position.values()) {
+        var mark = board.getMark(position);
+        if (mark != null) image.placeMark(Symmetry.map(transform, position), mark);
+      }
+      assertEquals(expected, Symmetry.canonicalKey(image));
+      // The canonical transform carries the image to the canonical form.
+      var canonical = new Board();
+      var canonicalTransform = Symmetry.canonicalTransform(image);
+      for (var position: Position.values()) {
+        var mark = image.getMark(position);
+        if (mark != null) canonical.placeMark(Symmetry.map(canonicalTransform, position), mark);
+      }
+      assertEquals(expected, canonical.key());
+    }
+  }
+
+  @Test void inversesUndoTransforms() {
+    for (var transform = 0; transform < Symmetry.COUNT; ++transform) {
+      for (var position: Position.values())
+        assertEquals(position, Symmetry.map(Symmetry.inverse(transform), Symmetry.map(transform, position)));
+    }
+    assertEquals(Position.TOP_RIGHT, Symmetry.map(1, Position.TOP_LEFT));
+  }
+}
@@ -0,0 +1,122 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UltimateBoardTest {
+  private static final Board.Symbol O = Board.Symbol.NOUGHT, X = Board.Symbol.CROSS;
+
+  private static long perft(UltimateBoard board, int depth, Board.Symbol symbol) throws Board.InvalidPositionException {
+    var moves = new int[UltimateBoard.MOVES];
+    var count = board.moves(moves);
+    if (depth == 1) return count;
+    var total = 0L;
+    for (var index = 0; index < count; ++index) {
+      board.placeMark(moves[index], symbol);
+      total += perft(board, depth - 1, symbol.other());
+      board.unmakeMark();
+    }
+    return total;
+  }
+
+  @Test void countsTheOpeningMoves() throws Board.InvalidPositionException {
+    var board = new UltimateBoard();
+    assertEquals(81, perft(board, 1, O));
+    assertEquals(720, perft(board, 2, O));
+    assertEquals(6336, perft(board, 3, O));
+    assertEquals(55080, perft(board, 4, O));
+    assertEquals(0, board.moveCount());
+  }
+
+  @Test void sendsTheOpponentToTheMatchingBoard() throws Board.InvalidPositionException {
+    var board = new UltimateBoard();
+    assertEquals(UltimateBoard.ANY, board.nextBoard());
+    // The top-right cell of the middle board.
+    board.placeMark(4 * 9 + 2, O);
+    assertEquals(2, board.nextBoard());
+    assertFalse(board.isLegal(4 * 9 + 0));
+    assertTrue(board.isLegal(2 * 9 + 4));
+    var thrown = assertThrows(Board.InvalidPositionException.class, () -> board.placeMark(0, X));
+    assertTrue(thrown.getMessage().contains("top-left top-left"));
+    var moves = new int[UltimateBoard.MOVES];
+    assertEquals(9, board.moves(moves));
+    for (var index = 0; index < 9; ++index) assertEquals(2 * 9 + index, moves[index]);
+  }
+
+  // Plays the given board, cell pairs alternately for noughts and crosses.
+  private static UltimateBoard play(int... moves) throws Board.InvalidPositionException {
+    var board = new UltimateBoard();
+    var symbol = O;
+    for (var index = 0; index < moves.length; index += 2) {
+      board.placeMark(moves[index] * 9 + moves[index + 1], symbol);
+      symbol = symbol.other();
+    }
+    return board;
+  }
+
+  @Test void closesWonBoards() throws Board.InvalidPositionException {
+    // Noughts keeps sending crosses to the top-left board, where crosses
+    // takes the top row.
+    var board = play(4, 0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 0);
+    assertEquals(X, board.board(0).winner());
+    assertEquals(X, board.meta().getMark(0));
+    assertFalse(board.isOpen(0));
+    // Sent to the won board, noughts may play in any open board instead.
+    assertEquals(UltimateBoard.ANY, board.nextBoard());
+    assertFalse(board.isLegal(0 * 9 + 3));
+    assertTrue(board.isLegal(8 * 9 + 8));
+    var moves = new int[UltimateBoard.MOVES];
+    assertEquals(81 - 9 - 3, board.moves(moves));
+    board.unmakeMark();
+    assertNull(board.board(0).winner());
+    assertTrue(board.meta().isEmpty(0));
+    assertTrue(board.isOpen(0));
+    assertEquals(0, board.nextBoard());
+  }
+
+  @Test void randomGamesUnwindToTheStart() throws Board.InvalidPositionException {
+    var random = new SplittableRandom(21);
+    var board = new UltimateBoard();
+    var moves = new int[UltimateBoard.MOVES];
+    var empty = board.toString();
+    for (var game = 0; game < 2000; ++game) {
+      var symbol = O;
+      while (!board.isGameOver()) {
+        var count = board.moves(moves);
+        assertTrue(count > 0);
+        for (var index = 0; index < count; ++index) assertTrue(board.isLegal(moves[index]));
+        board.placeMark(moves[random.nextInt(count)], symbol);
+        symbol = symbol.other();
+      }
+      assertEquals(0, board.moves(moves));
+      for (var index = 0; index < 9; ++index) {
+        var sub = board.board(index);
+        assertEquals(sub.winner(), board.meta().getMark(index));
+        assertEquals(sub.winner() == null && !sub.isFull(), board.isOpen(index));
+      }
+      if (board.winner() == null) assertTrue(board.isDraw());
+      else assertTrue(board.meta().hasLine(board.winner()));
+      while (board.moveCount() > 0) board.unmakeMark();
+      assertEquals(empty, board.toString());
+      assertEquals(UltimateBoard.ANY, board.nextBoard());
+      assertEquals(81, board.moves(moves));
+    }
+    assertThrows(IllegalStateException.class, board::unmakeMark);
+  }
+
+  @Test void parsesMoves() throws Board.InvalidPositionException {
+    var board = new UltimateBoard();
+    assertEquals(0 * 9 + 4, board.parseMove("top-left middle"));
+    assertEquals(8 * 9 + 0, board.parseMove("9 1"));
+    assertEquals(4 * 9 + 4, board.parseMove("middle/middle"));
+    assertThrows(Board.InvalidPositionException.class, () -> board.parseMove("middle"));
+    board.placeMark(4 * 9 + 2, O);
+    // With the board fixed, the cell alone will do.
+    assertEquals(2 * 9 + 4, board.parseMove("middle"));
+    assertThrows(Board.InvalidPositionException.class, () -> board.parseMove("middle middle"));
+    assertEquals("top-right middle", UltimateBoard.label(2 * 9 + 4));
+  }
+}
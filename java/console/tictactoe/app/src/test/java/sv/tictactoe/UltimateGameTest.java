@@ -0,0 +1,60 @@
+package sv.tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UltimateGameTest {
+  @Test void playsOutBetweenComputers() {
+    var io = new HeadlessGameIO();
+    var noughts = 0;
+    for (var game = 0; game < 20; ++game) {
+      var ultimate = new UltimateGame(
+          new UltimatePlayoutPlayer(20, game), UltimatePlayer.random(new SplittableRandom(game)), new UltimateBoard(), io);
+      ultimate.play();
+      assertTrue(ultimate.board().isGameOver());
+      assertNull(ultimate.termination());
+      assertEquals(ultimate.board().winner(), io.winner());
+      if (io.winner() == Board.Symbol.NOUGHT) ++noughts;
+    }
+    // Searching beats playing at random nearly always.
+    assertTrue(noughts >= 16, "noughts won " + noughts + " of 20");
+  }
+
+  @Test void asksTheConsoleForMoves() {
+    var lineSeparator = System.lineSeparator();
+    var input = "middle top-right" + lineSeparator
+        + "top-left" + lineSeparator
+        + "middle" + lineSeparator
+        + "resign" + lineSeparator;
+    var baos = new ByteArrayOutputStream();
+    var io = new ConsoleGameIO(new ByteArrayInputStream(input.getBytes()), new PrintStream(baos), true);
+    var game = new UltimateGame(UltimatePlayer.human(io), UltimatePlayer.human(io), new UltimateBoard(), io);
+    game.play();
+    var output = baos.toString();
+    assertTrue(output.contains("Choose an open board and a position in it"));
+    assertTrue(output.contains("Choose a position in the top-right board."));
+    assertTrue(output.contains("Choose a position in the top-left board."));
+    assertTrue(output.endsWith("Player X resigned" + lineSeparator), output);
+    assertEquals(3, game.board().moveCount());
+    assertEquals(4 * 9 + 2, game.board().move(0));
+    assertEquals(2 * 9 + 0, game.board().move(1));
+    assertEquals(0 * 9 + 4, game.board().move(2));
+    assertInstanceOf(GameIO.PlayerResignedException.class, game.termination());
+  }
+
+  @Test void humanOnAHeadlessGameQuits() {
+    var io = new HeadlessGameIO();
+    var game = new UltimateGame(UltimatePlayer.random(new SplittableRandom(1)), UltimatePlayer.human(io), new UltimateBoard(), io);
+    game.play();
+    assertEquals(1, game.board().moveCount());
+    assertInstanceOf(GameIO.PlayerQuitException.class, game.termination());
+    assertInstanceOf(GameIO.PlayerQuitException.class, io.termination());
+    assertNull(io.winner());
+  }
+}
@@ -0,0 +1,39 @@
+package sv.tictactoe;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+// The vector half of BatchAnalytics. It lives in a source set of its own,
+// the only one compiled with the incubator module, and BatchAnalytics loads
+// it by name, so that nothing loads the module's classes unless it is
+// present.
+class VectorAnalytics implements BatchAnalytics.Evaluator {
+  private static final @NotNull VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  @Override
+  public void evaluate(int @NotNull [] boards, int @NotNull [] results, int count) {
+    var zero = IntVector.zero(SPECIES);
+    var end = SPECIES.loopBound(count);
+    var index = 0;
+    for (; index < end; index += SPECIES.length()) {
+      var packed = IntVector.fromArray(SPECIES, boards, index);
+      var noughts = packed.and(Board.FULL);
+      var crosses = packed.lanewise(VectorOperators.LSHR, 9).and(Board.FULL);
+      var noughtsWon = SPECIES.maskAll(false);
+      var crossesWon = SPECIES.maskAll(false);
+      for (var line: Board.WINNING_LINES) {
+        noughtsWon = noughtsWon.or(noughts.and(line).compare(VectorOperators.EQ, line));
+        crossesWon = crossesWon.or(crosses.and(line).compare(VectorOperators.EQ, line));
+      }
+      var full = noughts.or(crosses).compare(VectorOperators.EQ, Board.FULL);
+      var draw = full.andNot(noughtsWon).andNot(crossesWon);
+      zero.blend(BatchAnalytics.NOUGHTS_WON | BatchAnalytics.GAME_OVER, noughtsWon)
+          .or(zero.blend(BatchAnalytics.CROSSES_WON | BatchAnalytics.GAME_OVER, crossesWon))
+          .or(zero.blend(BatchAnalytics.DRAW | BatchAnalytics.GAME_OVER, draw))
+          .intoArray(results, index);
+    }
+    BatchAnalytics.evaluateScalar(boards, results, index, count);
+  }
+}
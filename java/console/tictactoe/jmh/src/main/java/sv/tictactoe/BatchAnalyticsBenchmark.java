@@ -0,0 +1,57 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Boards judged per second: one GameAnalytics call per Board against the
+// batch API, through its scalar loop and its vector path.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@OperationsPerInvocation(BatchAnalyticsBenchmark.BOARDS)
+public class BatchAnalyticsBenchmark {
+  static final int BOARDS = 4096;
+
+  private final GameAnalytics analytics = new GameAnalytics();
+  private final Board[] boards = new Board[BOARDS];
+  private final int[] packed = new int[BOARDS], results = new int[BOARDS];
+
+  @Setup public void setUp() {
+    var random = new SplittableRandom(3);
+    for (var index = 0; index < BOARDS; ++index) {
+      var board = new Board();
+      var player = new RandomPlayer(random.split());
+      var symbol = Board.Symbol.NOUGHT;
+      for (var move = random.nextInt(10); move > 0 && !analytics.isGameOver(board); --move) {
+        player.makeMove(board, symbol);
+        symbol = symbol.other();
+      }
+      boards[index] = board;
+      packed[index] = board.pack();
+    }
+  }
+
+  @Benchmark public void perBoard(Blackhole blackhole) {
+    for (var board: boards) {
+      blackhole.consume(analytics.winner(board));
+      blackhole.consume(analytics.isDraw(board));
+      blackhole.consume(analytics.isGameOver(board));
+    }
+  }
+
+  @Benchmark public int[] scalar() {
+    BatchAnalytics.evaluateScalar(packed, results, 0, BOARDS);
+    return results;
+  }
+
+  @Benchmark public int[] batch() {
+    BatchAnalytics.evaluate(packed, results, BOARDS);
+    return results;
+  }
+}
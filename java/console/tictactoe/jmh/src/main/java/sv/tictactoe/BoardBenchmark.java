@@ -0,0 +1,50 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+  @Param({ "EMPTY", "MID_GAME", "TERMINAL" })
+  public Fixture fixture;
+
+  private Board board, scratch;
+  private int emptyCell;
+
+  @Setup public void setUp() {
+    board = fixture.board();
+    scratch = new Board();
+    emptyCell = board.allowedCells()[0];
+  }
+
+  @Benchmark public Board placeMark() throws Board.InvalidPositionException {
+    scratch.copyFrom(board);
+    scratch.placeMark(emptyCell, Board.Symbol.CROSS);
+    return scratch;
+  }
+
+  // Against placeMark above: a search node made and unmade on one board
+  // rather than copied.
+  @Benchmark public long makeUnmake() throws Board.InvalidPositionException {
+    board.placeMark(emptyCell, Board.Symbol.CROSS);
+    board.unmakeMark();
+    return board.hash();
+  }
+
+  @Benchmark public Board.Position[] allowedPositions() { return board.allowedPositions(); }
+
+  @Benchmark public boolean isFull() { return board.isFull(); }
+
+  @Benchmark public String render() { return board.toString(); }
+
+  @Benchmark public void getMarks(Blackhole blackhole) {
+    for (var position: Board.Position.values()) blackhole.consume(board.getMark(position));
+  }
+}
@@ -0,0 +1,50 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleGameIOBenchmark {
+  @Param({ "EMPTY", "MID_GAME", "TERMINAL" })
+  public Fixture fixture;
+
+  private ConsoleGameIO io;
+  private Board board;
+  private Board.Position[] allowedPositions, allPositions;
+  private String[] labels;
+
+  @Setup public void setUp() {
+    io = new ConsoleGameIO(new ByteArrayInputStream(new byte[0]), new PrintStream(OutputStream.nullOutputStream()));
+    board = fixture.board();
+    allowedPositions = board.allowedPositions();
+    allPositions = Board.Position.values();
+    labels = new String[allPositions.length];
+    for (var index = 0; index < labels.length; ++index) labels[index] = allPositions[index].label;
+  }
+
+  @Benchmark public String buildPrompt() { return io.displayPrompt(board.allowedPositions()); }
+
+  @Benchmark public void parsePosition(Blackhole blackhole) throws Board.InvalidPositionException {
+    for (var label: labels) blackhole.consume(Board.Position.parse(label, allPositions));
+  }
+
+  @Benchmark public void parseAllowedPosition(Blackhole blackhole) {
+    for (var label: labels) {
+      try {
+        blackhole.consume(Board.Position.parse(label, allowedPositions));
+      } catch (Board.InvalidPositionException ex) {
+        blackhole.consume(ex);
+      }
+    }
+  }
+}
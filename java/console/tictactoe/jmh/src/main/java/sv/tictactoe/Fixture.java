@@ -0,0 +1,30 @@
+package sv.tictactoe;
+
+import org.jetbrains.annotations.NotNull;
+
+// The boards the benchmarks run against, written row by row from the
+// top-left as in GameAnalyticsTest.
+public enum Fixture {
+  EMPTY("_________"),
+  MID_GAME("O_X_O_X__"),
+  TERMINAL("OOOXX_X__");
+
+  private final @NotNull String marks;
+
+  Fixture(@NotNull String marks) { this.marks = marks; }
+
+  public @NotNull Board board() {
+    var board = new Board();
+    var positions = Board.Position.values();
+    for (var index = 0; index < positions.length; ++index) {
+      var symbol = Board.Symbol.forStringNoEx(Character.toString(marks.charAt(index)));
+      if (symbol == null) continue;
+      try {
+        board.placeMark(positions[index], symbol);
+      } catch (Board.InvalidPositionException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+    return board;
+  }
+}
@@ -0,0 +1,27 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameAnalyticsBenchmark {
+  @Param({ "EMPTY", "MID_GAME", "TERMINAL" })
+  public Fixture fixture;
+
+  private final GameAnalytics analytics = new GameAnalytics();
+  private Board board;
+
+  @Setup public void setUp() { board = fixture.board(); }
+
+  @Benchmark public boolean hasWon() { return analytics.hasWon(board, Board.Symbol.NOUGHT); }
+
+  @Benchmark public boolean isGameOver() { return analytics.isGameOver(board); }
+
+  @Benchmark public Board.Symbol winner() { return analytics.winner(board); }
+}
@@ -0,0 +1,38 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+// Appending game records to a memory-mapped log, rolling 16 MB segments.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogBenchmark {
+  private Path directory;
+  private GameLog log;
+  private long record;
+
+  @Setup public void setUp() throws IOException {
+    directory = Files.createTempDirectory("game-log-benchmark");
+    log = new GameLog(directory, 16L << 20);
+    var board = Fixture.MID_GAME.board();
+    record = GameRecord.encode(board);
+  }
+
+  @TearDown public void tearDown() throws IOException {
+    log.close();
+    try (var paths = Files.walk(directory)) {
+      for (var path: paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+    }
+  }
+
+  @Benchmark public void append() throws IOException { log.append(record); }
+}
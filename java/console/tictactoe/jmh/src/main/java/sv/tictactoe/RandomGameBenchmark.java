@@ -0,0 +1,28 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// A whole game between random players, reusing one board and game.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomGameBenchmark {
+  private Board board;
+  private Game game;
+
+  @Setup public void setUp() {
+    board = new Board();
+    game = new Game(new GameAnalytics(), new RandomPlayer(1), new RandomPlayer(2), board, new HeadlessGameIO());
+  }
+
+  @Benchmark public Board.Symbol playGame() {
+    board.reset();
+    game.play();
+    return board.winner();
+  }
+}
@@ -0,0 +1,32 @@
+package sv.tictactoe;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Random ultimate tic-tac-toe games made and unmade on one board, the work
+// of a search's playouts. The score is in games a second; multiplied by
+// the moves per game, about 50, it is the move generator's rate.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UltimateBenchmark {
+  private final UltimateBoard board = new UltimateBoard();
+  private final SplittableRandom random = new SplittableRandom(5);
+  private final int[] moves = new int[UltimateBoard.MOVES];
+
+  @Benchmark public int playout() throws Board.InvalidPositionException {
+    var symbol = Board.Symbol.NOUGHT;
+    while (!board.isGameOver()) {
+      board.placeMark(moves[random.nextInt(board.moves(moves))], symbol);
+      symbol = symbol.other();
+    }
+    var count = board.moveCount();
+    while (board.moveCount() > 0) board.unmakeMark();
+    return count;
+  }
+}